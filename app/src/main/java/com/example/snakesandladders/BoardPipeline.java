@@ -0,0 +1,139 @@
+package com.example.snakesandladders;
+
+import android.graphics.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import androidx.annotation.MainThread;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.BoardCache;
+import com.example.snakesandladders.engine.Difficulty;
+import com.example.snakesandladders.engine.PolicyTable;
+import com.example.snakesandladders.engine.ScoredBoard;
+
+// Two-stage board pipeline. The background stage takes a generated, validated and scored board
+// from the BoardCache and turns it into plain data: square colors and the snake and ladder list.
+// The main-thread stage only hands that data to the view. One prepared board is always kept
+// ready, so starting a game never waits on generation unless the app has only just launched.
+final class BoardPipeline {
+
+    // Everything the game screen needs to show a board, computed off the main thread.
+    static final class PreparedBoard {
+        final Board board;
+        final PolicyTable policy;
+        final int[] colors;
+        final List<BoardView.Item> items;
+
+        private PreparedBoard(Board board, PolicyTable policy, int[] colors, List<BoardView.Item> items) {
+            this.board = board;
+            this.policy = policy;
+            this.colors = colors;
+            this.items = items;
+        }
+    }
+
+    interface Listener {
+        void onBoardReady(PreparedBoard board);
+    }
+
+    private static final int FINAL_COLOR = Color.parseColor("#FFD700");
+    private static final int LADDER_COLOR = Color.parseColor("#BFBBF2C6");
+    private static final int SNAKE_COLOR = Color.parseColor("#BFF8C6CF");
+    private static final int FEATURE_END_COLOR = Color.parseColor("#6600008B");
+    private static final int[] LADDER_RES_IDS = {
+        R.drawable.ladder_brown, R.drawable.ladder_red, R.drawable.ladder_green, R.drawable.ladder_yellow
+    };
+    private static final int[] SNAKE_RES_IDS = {
+        R.drawable.snake_green, R.drawable.snake_pink, R.drawable.snake_yellow, R.drawable.snake_purple
+    };
+
+    private final BoardCache cache;
+    private final Difficulty difficulty;
+    private final Executor backgroundExecutor;
+    private final Executor mainExecutor;
+
+    // Main-thread state.
+    private PreparedBoard ready;
+    private boolean preparing;
+    private Listener waiting;
+
+    // Background work runs on backgroundExecutor and results are delivered through mainExecutor.
+    BoardPipeline(BoardCache cache, Difficulty difficulty, Executor backgroundExecutor, Executor mainExecutor) {
+        this.cache = cache;
+        this.difficulty = difficulty;
+        this.backgroundExecutor = backgroundExecutor;
+        this.mainExecutor = mainExecutor;
+    }
+
+    // Starts preparing the next board unless one is ready or on its way.
+    @MainThread
+    void prefetch() {
+        if (ready != null || preparing) return;
+        preparing = true;
+        backgroundExecutor.execute(() -> {
+            ScoredBoard scored = cache.take(difficulty);
+            PreparedBoard prepared = prepare(scored.board(), scored.policy());
+            mainExecutor.execute(() -> deliver(prepared));
+        });
+    }
+
+    // Hands the ready board to the listener, or the next one as soon as it is prepared, and starts
+    // preparing its successor. A later call replaces an earlier listener that is still waiting.
+    @MainThread
+    void take(Listener listener) {
+        PreparedBoard board = ready;
+        if (board == null) {
+            waiting = listener;
+            prefetch();
+            return;
+        }
+        ready = null;
+        prefetch();
+        listener.onBoardReady(board);
+    }
+
+    // Drops a listener that is still waiting for a board; the board is kept for the next game.
+    @MainThread
+    void cancel() {
+        waiting = null;
+    }
+
+    private void deliver(PreparedBoard prepared) {
+        preparing = false;
+        Listener listener = waiting;
+        if (listener == null) {
+            ready = prepared;
+            return;
+        }
+        waiting = null;
+        prefetch();
+        listener.onBoardReady(prepared);
+    }
+
+    // Computes square colors and the feature list for a board. Each feature's artwork is picked
+    // from its start square so a restored board looks the same.
+    static PreparedBoard prepare(Board board, PolicyTable policy) {
+        int total = board.total();
+        int[] colors = new int[total + 1];
+        for (int i = 1; i < total; i++) colors[i] = Color.WHITE;
+        colors[total] = FINAL_COLOR;
+
+        List<BoardView.Item> items = new ArrayList<>();
+        for (int square = board.nextOccupied(1); square != -1; square = board.nextOccupied(square + 1)) {
+            int end = board.destination(square);
+            if (board.isLadder(square)) {
+                colors[square] = LADDER_COLOR;
+                items.add(new BoardView.Item(square, end, LADDER_RES_IDS[square % LADDER_RES_IDS.length]));
+            } else if (board.isSnake(square)) {
+                colors[square] = SNAKE_COLOR;
+                items.add(new BoardView.Item(square, end, SNAKE_RES_IDS[square % SNAKE_RES_IDS.length]));
+            } else {
+                colors[square] = FEATURE_END_COLOR;
+            }
+        }
+        return new PreparedBoard(board, policy, colors, items);
+    }
+}
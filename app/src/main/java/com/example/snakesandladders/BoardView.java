@@ -0,0 +1,576 @@
+package com.example.snakesandladders;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.util.TypedValue;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+import com.example.snakesandladders.engine.BoardGenerator;
+
+// Single canvas-drawn game board: cells, numbers, highlights, snakes, ladders and player tokens.
+// Cells, numbers and features are rendered once into a bitmap layer; only tokens are drawn per frame.
+// A new board is applied as a diff: only squares whose color changed, or that an added or removed
+// snake or ladder crosses, are redrawn into the layer, and only their region is invalidated.
+public class BoardView extends View {
+
+    // A snake or ladder drawn from the center of one square to the center of another.
+    // Its screen transform is filled in from the coordinate table on every layout pass.
+    public static class Item {
+        final int start, end;
+        final int resId;
+        float sx, sy;
+        float angle;
+        int length;
+        final RectF bounds = new RectF();
+
+        public Item(int start, int end, int resId) {
+            this.start = start;
+            this.end = end;
+            this.resId = resId;
+        }
+
+        boolean sameAs(Item other) {
+            return start == other.start && end == other.end && resId == other.resId;
+        }
+    }
+
+    private static final int DEFAULT_COLUMNS = 6;
+    private static final float DEFAULT_CELL_DP = 58f;
+    private static final float MARGIN_DP = 3f;
+    private static final float STROKE_DP = 3f;
+    private static final float CORNER_DP = 4f;
+    private static final float TEXT_SP = 18f;
+    private static final float TOKEN_SCALE = 0.45f;
+    // Share of a cell that a grid of tokens may cover when many tokens sit on one square.
+    private static final float TOKEN_GRID_SCALE = 0.9f;
+    // Larger boards keep the default board's shape of ten rows to six columns.
+    private static final float ROWS_PER_COLUMN = 10f / 6f;
+
+    private final Paint cellPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint strokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF cellRect = new RectF();
+    private final RectF pitchRect = new RectF();
+    private final RectF gridRect = new RectF();
+    private final RectF dirtyBounds = new RectF();
+    private final Rect invalidRect = new Rect();
+    private final SparseArray<Drawable> drawableCache = new SparseArray<>();
+    private final FrameTimer frameTimer = new FrameTimer("BoardView.onDraw");
+    private final float defaultCellPx;
+    private final float defaultMarginPx;
+    private final float strokePx;
+    private final float cornerPx;
+    private final float maxTextPx;
+
+    private final int minColumns;
+    private int columns;
+    private int rows;
+    private int total;
+    private int[] cellColors = new int[0];
+    private List<Item> items = new ArrayList<>();
+
+    private float cellPx;
+    private float gapPx;
+    private float cellRadius;
+    private float cellInset;
+    private float textOffset;
+    private float tokenSizePx;
+    private float tokenInsetPx;
+    // Top-left corner of every square, rebuilt once per layout pass and read by token placement and items.
+    private float[] squareLeft = new float[0];
+    private float[] squareTop = new float[0];
+    private float[] tokenOffsetX = new float[0];
+    private float[] tokenOffsetY = new float[0];
+    private boolean geometryValid;
+
+    private int[] tokenColors = new int[0];
+    // Each token's artwork at the current token size, taken from the shared TokenBitmaps cache on first draw.
+    private Bitmap[] tokenBitmaps = new Bitmap[0];
+    private float[] tokenX = new float[0];
+    private float[] tokenY = new float[0];
+    private int[] tokenSquare = new int[0];
+    private int topToken;
+
+    private Bitmap layer;
+    private Canvas layerCanvas;
+    private boolean layerDirty = true;
+    // Squares to redraw into the layer on the next frame when the rest of it is still valid.
+    private boolean[] dirtySquares = new boolean[0];
+    private int dirtyCount;
+
+    public BoardView(Context context) {
+        this(context, null);
+    }
+
+    public BoardView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        defaultCellPx = dp(DEFAULT_CELL_DP);
+        defaultMarginPx = dp(MARGIN_DP);
+        strokePx = dp(STROKE_DP);
+        cornerPx = dp(CORNER_DP);
+        maxTextPx = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, TEXT_SP, getResources().getDisplayMetrics());
+
+        int cols = DEFAULT_COLUMNS;
+        if (attrs != null) {
+            TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.BoardView);
+            cols = a.getInt(R.styleable.BoardView_columns, DEFAULT_COLUMNS);
+            a.recycle();
+        }
+        minColumns = cols;
+
+        cellPaint.setStyle(Paint.Style.FILL);
+        strokePaint.setStyle(Paint.Style.STROKE);
+        strokePaint.setStrokeWidth(strokePx);
+        strokePaint.setColor(Color.BLACK);
+        textPaint.setColor(Color.BLACK);
+        textPaint.setTextAlign(Paint.Align.CENTER);
+
+        setBoardSize(BoardGenerator.DEFAULT_TOTAL, cols);
+    }
+
+    private float dp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, value, getResources().getDisplayMetrics());
+    }
+
+    // Sets the number of squares and how many squares each row holds; rows are derived from both.
+    public void setBoardSize(int total, int columns) {
+        if (total == this.total && columns == this.columns) return;
+        this.total = total;
+        this.columns = columns;
+        this.rows = (total + columns - 1) / columns;
+        this.cellColors = new int[total + 1];
+        for (int i = 1; i <= total; i++) cellColors[i] = Color.WHITE;
+        this.squareLeft = new float[total + 1];
+        this.squareTop = new float[total + 1];
+        this.dirtySquares = new boolean[total + 1];
+        this.dirtyCount = 0;
+        geometryValid = false;
+        requestLayout();
+        invalidateLayer();
+    }
+
+    // Sets the number of squares, widening the grid past the XML column count for large boards.
+    public void setBoardSize(int total) {
+        int cols = Math.max(minColumns, (int) Math.ceil(Math.sqrt(total / ROWS_PER_COLUMN)));
+        setBoardSize(total, cols);
+    }
+
+    // Returns the timer wrapped around onDraw.
+    FrameTimer drawTimer() {
+        return frameTimer;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    // Replaces the background colors of all squares; colors[square] is used for square 1..total.
+    // Only squares whose color actually changed are redrawn.
+    public void setCellColors(int[] colors) {
+        boolean incremental = canUpdateLayer();
+        for (int square = 1; square <= total; square++) {
+            if (cellColors[square] != colors[square]) {
+                cellColors[square] = colors[square];
+                if (incremental) markDirty(square);
+            }
+        }
+        if (incremental) {
+            invalidateDirty();
+        } else {
+            invalidateLayer();
+        }
+    }
+
+    // Replaces the snakes and ladders drawn on the board. Only the squares under snakes and ladders
+    // that were added or removed are redrawn.
+    public void setItems(List<Item> newItems) {
+        List<Item> next = newItems != null ? newItems : new ArrayList<>();
+        boolean incremental = canUpdateLayer();
+        if (geometryValid) updateItemGeometry(next);
+        if (incremental) {
+            for (Item old : items) {
+                if (!contains(next, old) && !markDirty(old.bounds)) incremental = false;
+            }
+            for (Item item : next) {
+                if (!contains(items, item) && !markDirty(item.bounds)) incremental = false;
+            }
+        }
+        items = next;
+        if (incremental) {
+            invalidateDirty();
+        } else {
+            invalidateLayer();
+        }
+    }
+
+    private static boolean contains(List<Item> list, Item item) {
+        for (Item candidate : list) {
+            if (candidate.sameAs(item)) return true;
+        }
+        return false;
+    }
+
+    private boolean canUpdateLayer() {
+        return geometryValid && layer != null && !layerDirty;
+    }
+
+    private void markDirty(int square) {
+        if (dirtySquares[square]) return;
+        dirtySquares[square] = true;
+        dirtyCount++;
+        setPitchRect(square);
+        if (dirtyCount == 1) {
+            dirtyBounds.set(pitchRect);
+        } else {
+            dirtyBounds.union(pitchRect);
+        }
+    }
+
+    // Marks every square the given area overlaps. Returns false if the area reaches past the
+    // squares, where a partial redraw could not clear it.
+    private boolean markDirty(RectF area) {
+        if (!gridRect.contains(area)) return false;
+        for (int square = 1; square <= total; square++) {
+            setPitchRect(square);
+            if (RectF.intersects(pitchRect, area)) markDirty(square);
+        }
+        return true;
+    }
+
+    // Invalidates only the region of the dirty squares, or the whole layer once most of it changed.
+    @SuppressWarnings("deprecation")
+    private void invalidateDirty() {
+        if (dirtyCount == 0) return;
+        if (dirtyCount * 2 > total) {
+            invalidateLayer();
+            return;
+        }
+        dirtyBounds.roundOut(invalidRect);
+        invalidate(invalidRect);
+    }
+
+    // The square's cell plus half the gap to its neighbors; the squares' pitch rects tile the grid.
+    private void setPitchRect(int square) {
+        float left = squareLeft[square] - gapPx;
+        float top = squareTop[square] - gapPx;
+        pitchRect.set(left, top, left + cellPx + 2 * gapPx, top + cellPx + 2 * gapPx);
+    }
+
+    // Creates one token per color; tokens stay hidden until placed on a square. Artwork is shared, so
+    // this is cheap enough to call for every game.
+    public void setTokens(int[] colors) {
+        int count = colors.length;
+        tokenColors = colors.clone();
+        tokenBitmaps = new Bitmap[count];
+        tokenX = new float[count];
+        tokenY = new float[count];
+        tokenSquare = new int[count];
+        tokenOffsetX = new float[count];
+        tokenOffsetY = new float[count];
+        if (geometryValid) updateTokenLayout();
+        topToken = 0;
+        invalidate();
+    }
+
+    // Returns the x coordinate where the given token sits on the given square.
+    public float tokenXFor(int token, int square) {
+        return squareLeft[square] + tokenInsetPx + tokenOffsetX[token];
+    }
+
+    // Returns the y coordinate where the given token sits on the given square.
+    public float tokenYFor(int token, int square) {
+        return squareTop[square] + tokenInsetPx + tokenOffsetY[token];
+    }
+
+    public float getTokenX(int token) {
+        return tokenX[token];
+    }
+
+    public float getTokenY(int token) {
+        return tokenY[token];
+    }
+
+    // Moves a token to a free position, e.g. while animating, and draws it above the other tokens.
+    public void setTokenPosition(int token, float x, float y) {
+        tokenX[token] = x;
+        tokenY[token] = y;
+        tokenSquare[token] = -1;
+        topToken = token;
+        invalidate();
+    }
+
+    // Snaps a token onto a square; it stays there across layout changes.
+    public void placeToken(int token, int square) {
+        tokenX[token] = tokenXFor(token, square);
+        tokenY[token] = tokenYFor(token, square);
+        tokenSquare[token] = square;
+        topToken = token;
+        invalidate();
+    }
+
+    // Measures to the default cell size, shrinking the cells when the parent offers less room.
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        float pitch = defaultCellPx + 2 * defaultMarginPx;
+        int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+        int heightMode = MeasureSpec.getMode(heightMeasureSpec);
+        if (widthMode != MeasureSpec.UNSPECIFIED) {
+            pitch = Math.min(pitch, (float) MeasureSpec.getSize(widthMeasureSpec) / columns);
+        }
+        if (heightMode != MeasureSpec.UNSPECIFIED) {
+            pitch = Math.min(pitch, (float) MeasureSpec.getSize(heightMeasureSpec) / rows);
+        }
+        int w = (int) (pitch * columns);
+        int h = (int) (pitch * rows);
+        if (widthMode == MeasureSpec.EXACTLY) w = MeasureSpec.getSize(widthMeasureSpec);
+        if (heightMode == MeasureSpec.EXACTLY) h = MeasureSpec.getSize(heightMeasureSpec);
+        setMeasuredDimension(w, h);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if (layer != null) {
+            layer.recycle();
+            layer = null;
+            layerCanvas = null;
+        }
+        invalidateLayer();
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        super.onLayout(changed, left, top, right, bottom);
+        if (changed || !geometryValid) updateGeometry();
+    }
+
+    // Rebuilds the square coordinate table and everything derived from it for the current size.
+    private void updateGeometry() {
+        if (getWidth() == 0 || getHeight() == 0) return;
+        float pitch = Math.min((float) getWidth() / columns, (float) getHeight() / rows);
+        float defaultPitch = defaultCellPx + 2 * defaultMarginPx;
+        cellPx = pitch * defaultCellPx / defaultPitch;
+        float gap = (pitch - cellPx) / 2f;
+        gapPx = gap;
+        float originX = (getWidth() - pitch * columns) / 2f + gap;
+        float originY = (getHeight() - pitch * rows) / 2f + gap;
+        gridRect.set(originX - gap, originY - gap, originX - gap + pitch * columns, originY - gap + pitch * rows);
+        for (int square = 1; square <= total; square++) {
+            int index = square - 1;
+            squareLeft[square] = originX + (index % columns) * pitch;
+            squareTop[square] = originY + (rows - 1 - index / columns) * pitch;
+        }
+        geometryValid = true;
+
+        float scale = cellPx / defaultCellPx;
+        strokePaint.setStrokeWidth(strokePx * scale);
+        cellRadius = cornerPx * scale;
+        cellInset = strokePaint.getStrokeWidth() / 2f;
+        textPaint.setTextSize(Math.min(maxTextPx, maxTextPx * scale));
+        textOffset = (textPaint.descent() + textPaint.ascent()) / 2f;
+
+        updateTokenLayout();
+        updateItemGeometry(items);
+        for (int token = 0; token < tokenSquare.length; token++) {
+            int square = tokenSquare[token];
+            if (square > 0) {
+                tokenX[token] = tokenXFor(token, square);
+                tokenY[token] = tokenYFor(token, square);
+            }
+        }
+        invalidateLayer();
+    }
+
+    // Gives every token a fixed slot inside a cell. One or two tokens keep the original diagonal
+    // offsets; more tokens are shrunk into a centered grid. Slots depend only on the seat, so a
+    // token on a shared square never has to look at the other tokens.
+    private void updateTokenLayout() {
+        int count = tokenOffsetX.length;
+        if (count <= 2) {
+            tokenSizePx = cellPx * TOKEN_SCALE;
+            float separation = tokenSizePx * 0.18f;
+            for (int token = 0; token < count; token++) {
+                float offset = count == 1 ? 0 : token == 0 ? -separation : separation;
+                tokenOffsetX[token] = offset;
+                tokenOffsetY[token] = offset;
+            }
+        } else {
+            int side = (int) Math.ceil(Math.sqrt(count));
+            int usedRows = (count + side - 1) / side;
+            tokenSizePx = cellPx * Math.min(TOKEN_SCALE, TOKEN_GRID_SCALE / side);
+            for (int token = 0; token < count; token++) {
+                int row = token / side;
+                int rowLength = Math.min(side, count - row * side);
+                tokenOffsetX[token] = (token % side - (rowLength - 1) / 2f) * tokenSizePx;
+                tokenOffsetY[token] = (row - (usedRows - 1) / 2f) * tokenSizePx;
+            }
+        }
+        tokenInsetPx = (cellPx - tokenSizePx) / 2f;
+    }
+
+    // Fills in each item's transform and the box its rotated artwork covers.
+    private void updateItemGeometry(List<Item> list) {
+        float half = cellPx / 2f;
+        for (Item item : list) {
+            item.sx = squareLeft[item.start] + half;
+            item.sy = squareTop[item.start] + half;
+            float ex = squareLeft[item.end] + half;
+            float ey = squareTop[item.end] + half;
+            float dx = ex - item.sx;
+            float dy = ey - item.sy;
+            item.length = (int) Math.sqrt(dx * dx + dy * dy);
+            item.angle = (float) Math.toDegrees(Math.atan2(dy, dx)) - 90;
+
+            Drawable d = getCachedDrawable(item.resId);
+            float halfWidth = d == null ? 0 : itemWidth(d) / 2f;
+            item.bounds.set(Math.min(item.sx, ex), Math.min(item.sy, ey), Math.max(item.sx, ex), Math.max(item.sy, ey));
+            item.bounds.inset(-halfWidth, -halfWidth);
+        }
+    }
+
+    private int itemWidth(Drawable d) {
+        return (int) (d.getIntrinsicWidth() * cellPx / defaultCellPx);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (layer != null) {
+            layer.recycle();
+            layer = null;
+            layerCanvas = null;
+        }
+        layerDirty = true;
+    }
+
+    private void invalidateLayer() {
+        layerDirty = true;
+        invalidate();
+    }
+
+    private void clearDirtySquares() {
+        if (dirtyCount == 0) return;
+        Arrays.fill(dirtySquares, false);
+        dirtyCount = 0;
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        super.onDraw(canvas);
+        frameTimer.begin();
+        if (geometryValid) {
+            if (layer == null) {
+                layer = Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.ARGB_8888);
+                layerCanvas = new Canvas(layer);
+                layerDirty = true;
+            }
+            if (layerDirty) {
+                layer.eraseColor(Color.TRANSPARENT);
+                for (int square = 1; square <= total; square++) drawCell(layerCanvas, square);
+                for (Item item : items) drawItem(layerCanvas, item);
+                clearDirtySquares();
+                layerDirty = false;
+            } else if (dirtyCount > 0) {
+                redrawDirtySquares();
+            }
+            canvas.drawBitmap(layer, 0, 0, null);
+            drawTokens(canvas);
+        }
+        frameTimer.end();
+    }
+
+    // Redraws each dirty square into the layer: its cell plus the parts of any snakes and ladders over it.
+    private void redrawDirtySquares() {
+        for (int square = 1; square <= total && dirtyCount > 0; square++) {
+            if (!dirtySquares[square]) continue;
+            dirtySquares[square] = false;
+            dirtyCount--;
+            setPitchRect(square);
+            layerCanvas.save();
+            layerCanvas.clipRect(pitchRect);
+            layerCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+            drawCell(layerCanvas, square);
+            for (Item item : items) {
+                if (RectF.intersects(item.bounds, pitchRect)) drawItem(layerCanvas, item);
+            }
+            layerCanvas.restore();
+        }
+    }
+
+    // Draws a square with its background color, border and number.
+    private void drawCell(Canvas canvas, int square) {
+        float left = squareLeft[square];
+        float top = squareTop[square];
+        cellRect.set(left + cellInset, top + cellInset, left + cellPx - cellInset, top + cellPx - cellInset);
+        cellPaint.setColor(cellColors[square]);
+        canvas.drawRoundRect(cellRect, cellRadius, cellRadius, cellPaint);
+        canvas.drawRoundRect(cellRect, cellRadius, cellRadius, strokePaint);
+        canvas.drawText(Integer.toString(square), left + cellPx / 2f, top + cellPx / 2f - textOffset, textPaint);
+    }
+
+    // Draws a snake or ladder stretched and rotated between its two squares.
+    private void drawItem(Canvas canvas, Item item) {
+        Drawable d = getCachedDrawable(item.resId);
+        if (d == null) return;
+
+        int w = itemWidth(d);
+
+        canvas.save();
+        canvas.translate(item.sx, item.sy);
+        canvas.rotate(item.angle);
+        d.setBounds(-w / 2, 0, w / 2, item.length);
+        d.draw(canvas);
+        canvas.restore();
+    }
+
+    // Draws the tokens, with the most recently moved one on top.
+    private void drawTokens(Canvas canvas) {
+        for (int token = 0; token < tokenColors.length; token++) {
+            if (token != topToken) drawToken(canvas, token);
+        }
+        if (topToken < tokenColors.length) drawToken(canvas, topToken);
+    }
+
+    private void drawToken(Canvas canvas, int token) {
+        if (tokenSquare[token] == 0) return;
+        int size = (int) tokenSizePx;
+        if (size <= 0) return;
+        Bitmap bitmap = tokenBitmaps[token];
+        if (bitmap == null || bitmap.getWidth() != size) {
+            bitmap = TokenBitmaps.get(getContext(), tokenColors[token], size);
+            tokenBitmaps[token] = bitmap;
+        }
+        canvas.drawBitmap(bitmap, (int) tokenX[token], (int) tokenY[token], null);
+    }
+
+    private Drawable getCachedDrawable(int resId) {
+        Drawable d = drawableCache.get(resId);
+        if (d == null) {
+            d = ContextCompat.getDrawable(getContext(), resId);
+            if (d != null) drawableCache.put(resId, d);
+        }
+        return d;
+    }
+}
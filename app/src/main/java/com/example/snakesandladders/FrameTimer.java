@@ -0,0 +1,99 @@
+package com.example.snakesandladders;
+
+import android.os.Build;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+
+import java.util.Locale;
+
+// Accumulates how long a piece of code takes per run and logs a summary on demand. Every run is
+// also a Trace section under the timer's name, so it shows up in system traces.
+final class FrameTimer {
+
+    private static final String TAG = "FrameTimer";
+
+    private final String name;
+    private long frames;
+    private long totalNanos;
+    private long maxNanos;
+    private long startNanos;
+    private boolean asyncOpen;
+
+    FrameTimer(String name) {
+        this.name = name;
+    }
+
+    // Marks the start of a timed frame. Must be ended on the same thread, without other sections in between.
+    void begin() {
+        Trace.beginSection(name);
+        startNanos = SystemClock.elapsedRealtimeNanos();
+    }
+
+    // Marks the end of a timed frame and records its duration.
+    void end() {
+        record(SystemClock.elapsedRealtimeNanos() - startNanos);
+        Trace.endSection();
+    }
+
+    // Starts a run that spans several main-thread messages, such as an animation phase.
+    void beginAsync() {
+        if (asyncOpen) abandonAsync();
+        asyncOpen = true;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) Trace.beginAsyncSection(name, 0);
+        startNanos = SystemClock.elapsedRealtimeNanos();
+    }
+
+    // Ends and records a run started with beginAsync().
+    void endAsync() {
+        if (!asyncOpen) return;
+        record(SystemClock.elapsedRealtimeNanos() - startNanos);
+        closeAsync();
+    }
+
+    // Ends a run started with beginAsync() without recording it, e.g. when the work was cancelled.
+    void abandonAsync() {
+        if (asyncOpen) closeAsync();
+    }
+
+    // Records a run that started at the given elapsedRealtimeNanos(), e.g. before the timer existed.
+    void recordSince(long startNanos) {
+        record(SystemClock.elapsedRealtimeNanos() - startNanos);
+    }
+
+    private void closeAsync() {
+        asyncOpen = false;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) Trace.endAsyncSection(name, 0);
+    }
+
+    private void record(long elapsed) {
+        frames++;
+        totalNanos += elapsed;
+        if (elapsed > maxNanos) maxNanos = elapsed;
+    }
+
+    long frames() {
+        return frames;
+    }
+
+    // Returns the mean duration in microseconds, or 0 before the first frame.
+    double averageMicros() {
+        return frames == 0 ? 0 : totalNanos / 1000.0 / frames;
+    }
+
+    double maxMicros() {
+        return maxNanos / 1000.0;
+    }
+
+    String summary() {
+        return String.format(Locale.US, "%s: frames=%d avg=%.1fus max=%.1fus", name, frames, averageMicros(), maxMicros());
+    }
+
+    // Logs the summary and starts a new measurement window.
+    void logAndReset() {
+        if (frames > 0) Log.d(TAG, summary());
+        frames = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.snakesandladders;
+
+import android.os.Debug;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Message;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Instrumentation for the game screen: timers for the first frame, board setup, board drawing and each turn phase,
+// a FrameMetrics listener that counts janky frames, and counters for allocated bytes and posted
+// Handler messages. report() renders everything as text for the debug overlay and dumpsys.
+final class GameMetrics {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    // From onCreate to the first frame the activity draws.
+    final FrameTimer firstFrame = new FrameTimer("startup.firstFrame");
+    final FrameTimer setupBoard = new FrameTimer("setupBoard");
+    final FrameTimer generateBoardFeatures = new FrameTimer("generateBoardFeatures");
+    final FrameTimer roll = new FrameTimer("turn.roll");
+    final FrameTimer steps = new FrameTimer("turn.steps");
+    final FrameTimer slide = new FrameTimer("turn.slide");
+    final FrameTimer winCheck = new FrameTimer("turn.winCheck");
+    private final FrameTimer[] timers;
+
+    // Written on the frame metrics thread, read on the main thread.
+    private final Object frameLock = new Object();
+    private long frames;
+    private long jankyFrames;
+    private long worstFrameNanos;
+    private long frameBudgetNanos = NANOS_PER_SECOND / 60;
+    private HandlerThread frameThread;
+    private Window.OnFrameMetricsAvailableListener frameListener;
+
+    // Messages may be posted from background threads.
+    private final AtomicLong postedMessages = new AtomicLong();
+    private long turns;
+    private long allocatedAtReset = allocatedBytes();
+
+    GameMetrics(FrameTimer boardDraw) {
+        this.timers = new FrameTimer[]{firstFrame, setupBoard, generateBoardFeatures, boardDraw, roll, steps, slide, winCheck};
+    }
+
+    // Starts counting frames of the given window; a frame is janky when it misses the display's frame budget.
+    void attach(Window window, float refreshRate) {
+        if (frameListener != null) return;
+        if (refreshRate > 0) frameBudgetNanos = (long) (NANOS_PER_SECOND / refreshRate);
+        frameThread = new HandlerThread("FrameMetrics");
+        frameThread.start();
+        frameListener = (w, metrics, dropCount) -> {
+            long duration = metrics.getMetric(FrameMetrics.TOTAL_DURATION);
+            synchronized (frameLock) {
+                frames++;
+                if (duration > frameBudgetNanos) jankyFrames++;
+                if (duration > worstFrameNanos) worstFrameNanos = duration;
+            }
+        };
+        window.addOnFrameMetricsAvailableListener(frameListener, new Handler(frameThread.getLooper()));
+    }
+
+    void detach(Window window) {
+        if (frameListener == null) return;
+        try {
+            window.removeOnFrameMetricsAvailableListener(frameListener);
+        } catch (IllegalArgumentException e) {
+            // The window was never hardware accelerated, so the listener was never registered.
+        }
+        frameThread.quitSafely();
+        frameListener = null;
+        frameThread = null;
+    }
+
+    // Counts one played turn; per-turn figures in the report are averaged over these.
+    void countTurn() {
+        turns++;
+    }
+
+    long turns() {
+        return turns;
+    }
+
+    long postedMessages() {
+        return postedMessages.get();
+    }
+
+    // Logs the current window and starts a new one, e.g. when a game starts.
+    void logAndReset() {
+        for (FrameTimer timer : timers) timer.logAndReset();
+        synchronized (frameLock) {
+            frames = 0;
+            jankyFrames = 0;
+            worstFrameNanos = 0;
+        }
+        postedMessages.set(0);
+        turns = 0;
+        allocatedAtReset = allocatedBytes();
+    }
+
+    String report() {
+        StringBuilder sb = new StringBuilder();
+        for (FrameTimer timer : timers) sb.append(timer.summary()).append('\n');
+        synchronized (frameLock) {
+            sb.append(String.format(Locale.US, "frames=%d janky=%d worst=%.1fms budget=%.1fms%n",
+                    frames, jankyFrames, worstFrameNanos / 1e6, frameBudgetNanos / 1e6));
+        }
+        long allocated = allocatedBytes() - allocatedAtReset;
+        long messages = postedMessages.get();
+        long perTurn = turns == 0 ? 1 : turns;
+        sb.append(String.format(Locale.US, "turns=%d messages=%d (%.1f/turn) allocated=%dKB (%.1fKB/turn)",
+                turns, messages, (double) messages / perTurn,
+                allocated / 1024, allocated / 1024.0 / perTurn));
+        return sb.toString();
+    }
+
+    // Returns the bytes the runtime has allocated since the process started, or 0 if it does not say.
+    private static long allocatedBytes() {
+        String value = Debug.getRuntimeStat("art.gc.bytes-allocated");
+        if (value == null) return 0;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Handler that counts every message and runnable posted through it.
+    static final class CountingHandler extends Handler {
+
+        private volatile GameMetrics metrics;
+
+        CountingHandler(Looper looper) {
+            super(looper);
+        }
+
+        void setMetrics(GameMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public boolean sendMessageAtTime(Message msg, long uptimeMillis) {
+            GameMetrics m = metrics;
+            if (m != null) m.postedMessages.incrementAndGet();
+            return super.sendMessageAtTime(msg, uptimeMillis);
+        }
+    }
+}
@@ -1,62 +1,125 @@
 package com.example.snakesandladders;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.drawable.Drawable;
-import android.graphics.drawable.GradientDrawable;
+import android.os.Build;
 import android.os.Bundle;
-import android.os.Handler;
 import android.os.Looper;
-import android.util.TypedValue;
-import android.view.Gravity;
+import android.os.SystemClock;
+import android.util.Log;
 import android.view.View;
-import android.view.ViewGroup;
-import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.ViewTreeObserver;
 import android.widget.Button;
-import android.widget.GridLayout;
 import android.widget.TextView;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Random;
-import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import androidx.annotation.NonNull;
-import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
-import androidx.core.graphics.drawable.DrawableCompat;
+
+import com.example.snakesandladders.engine.AnalysisCache;
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.BoardCache;
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.Dice;
+import com.example.snakesandladders.engine.Difficulty;
+import com.example.snakesandladders.engine.GameEngine;
+import com.example.snakesandladders.engine.GameRandom;
+import com.example.snakesandladders.engine.GameSnapshot;
+import com.example.snakesandladders.engine.PolicyTable;
+import com.example.snakesandladders.engine.RandomRollStrategy;
+import com.example.snakesandladders.engine.ReplayLog;
+import com.example.snakesandladders.engine.RuleVariant;
+import com.example.snakesandladders.engine.SeededDice;
+import com.example.snakesandladders.engine.Strategy;
+import com.example.snakesandladders.engine.sim.MonteCarloSimulator;
 
 public class MainActivity extends AppCompatActivity {
 
-    private TextView[] squares;
-    private final int total = 60;
-    private TextView[] playerTokens;
-    private int[] playerPositions;
-    private int lastMovedPlayer = 0;
-    private ViewGroup boardContainer;
+    // Intent extra with a long seed; a seeded activity generates the same boards and rolls every run.
+    public static final String EXTRA_SEED = "com.example.snakesandladders.SEED";
+    // Intent extra with a RuleVariant name; games use the classic rules when it is missing.
+    public static final String EXTRA_RULES = "com.example.snakesandladders.RULES";
+    // Intent extra with the number of seats (2 to 8); against the computer, every seat after the first is a computer.
+    public static final String EXTRA_PLAYERS = "com.example.snakesandladders.PLAYERS";
+    // Intent extra with the number of squares on generated boards (36 to 400).
+    public static final String EXTRA_BOARD_SIZE = "com.example.snakesandladders.BOARD_SIZE";
+    // Intent extra; when true the game screen shows the live GameMetrics report.
+    public static final String EXTRA_PERF_OVERLAY = "com.example.snakesandladders.PERF_OVERLAY";
+
+    private static final String TAG = "MainActivity";
+    private static final String KEY_SNAPSHOT = "game_snapshot";
+    private static final String KEY_VS_COMPUTER = "vs_computer";
+    private static final String REPLAY_FILE = "last_game.replay";
+    private static final int MIN_BOARD_SIZE = 2 * BoardGenerator.MAX_JUMP;
+    private static final int ANALYSIS_CACHE_SIZE = 64;
+    // Board analyses per rule variant, kept for the process so a board restored after the activity
+    // is recreated, or drawn again later, is not solved again.
+    private static final Map<RuleVariant, AnalysisCache> ANALYSES = new EnumMap<>(RuleVariant.class);
+    private static final int[] TOKEN_COLORS = {
+        Color.BLUE, 0xFFFF4081, 0xFF2E7D32, 0xFFFF9800, 0xFF8E24AA, 0xFF00ACC1, 0xFF6D4C41, 0xFF212121
+    };
+
+    private int total = BoardGenerator.DEFAULT_TOTAL;
+    private int playerCount = 2;
+    private BoardView boardView;
+    private MoveAnimator moveAnimator;
     private Button rollButton;
     private TextView diceResult;
-    private final Map<Integer, Integer> snakes = new HashMap<>();
-    private final Map<Integer, Integer> ladders = new HashMap<>();
-    private LinesOverlay linesOverlay;
+    private GameRandom random;
+    private final ExecutorService boardExecutor = Executors.newSingleThreadExecutor();
+    private AnalysisCache analyses;
+    private BoardCache boardCache;
+    private BoardPipeline boardPipeline;
+    private final Difficulty difficulty = Difficulty.NORMAL;
+    private RuleVariant rules = RuleVariant.CLASSIC;
+    private GameEngine engine;
+    // The computer's decisions for the current board; plain rolls until the board's policy is solved.
+    private Strategy computerStrategy = RandomRollStrategy.INSTANCE;
+    private ReplayLog.Writer replayLog;
     private boolean isResetBlocked = false;
     private boolean isVsComputer = true;
-    private int currentPlayerTurn = 1;
+    private Pacing pacing = Pacing.NORMAL;
     private View menuOverlay;
     private View gameGroup;
-    private final Handler gameHandler = new Handler(Looper.getMainLooper());
+    private final GameMetrics.CountingHandler gameHandler = new GameMetrics.CountingHandler(Looper.getMainLooper());
+    private GameMetrics metrics;
+    private TextView perfOverlay;
+    private boolean boardSetUp;
 
     // Called when the activity is first created.
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        long createdNanos = SystemClock.elapsedRealtimeNanos();
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
+        pacing = Pacing.fromName(getIntent().getStringExtra(Pacing.EXTRA_PACING));
+        rules = rulesFromName(getIntent().getStringExtra(EXTRA_RULES));
+        playerCount = clamp(getIntent().getIntExtra(EXTRA_PLAYERS, 2), 2, GameEngine.MAX_PLAYERS);
+        total = clamp(getIntent().getIntExtra(EXTRA_BOARD_SIZE, BoardGenerator.DEFAULT_TOTAL), MIN_BOARD_SIZE, Board.MAX_TOTAL);
+
+        // A seeded run prepares boards inline so board order does not depend on thread timing.
+        boolean seeded = getIntent().hasExtra(EXTRA_SEED);
+        random = new GameRandom(seeded ? getIntent().getLongExtra(EXTRA_SEED, 0) : System.nanoTime());
+        Executor backgroundExecutor = seeded ? Runnable::run : boardExecutor;
+        Executor mainExecutor = seeded ? Runnable::run : gameHandler::post;
+        analyses = analysesFor(rules);
+        boardCache = new BoardCache(new BoardGenerator(total), 12, backgroundExecutor, random.nextLong(), analyses);
+        boardPipeline = new BoardPipeline(boardCache, difficulty, backgroundExecutor, mainExecutor);
 
         View root = findViewById(R.id.main);
         ViewCompat.setOnApplyWindowInsetsListener(root, (v, insets) -> {
@@ -75,10 +138,14 @@ public class MainActivity extends AppCompatActivity {
         btnPlayFriend.setOnClickListener(v -> startGame(false));
         btnInfo.setOnClickListener(v -> showInfoDialog());
 
-        boardContainer = findViewById(R.id.main);
-        linesOverlay = new LinesOverlay(this);
-        linesOverlay.setElevation(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 5f, getResources().getDisplayMetrics()));
-        boardContainer.addView(linesOverlay, 1, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        boardView = findViewById(R.id.boardView);
+        metrics = new GameMetrics(boardView.drawTimer());
+        gameHandler.setMetrics(metrics);
+        metrics.attach(getWindow(), displayRefreshRate());
+        moveAnimator = new MoveAnimator(boardView, metrics);
+
+        perfOverlay = findViewById(R.id.perfOverlay);
+        if (getIntent().getBooleanExtra(EXTRA_PERF_OVERLAY, false)) perfOverlay.setVisibility(View.VISIBLE);
 
         rollButton = findViewById(R.id.rollButton);
         rollButton.setOnClickListener(v -> rollDice());
@@ -90,10 +157,8 @@ public class MainActivity extends AppCompatActivity {
             if (isResetBlocked) return;
 
             gameHandler.removeCallbacksAndMessages(null);
-            if (playerTokens != null) {
-                if (playerTokens[1] != null) playerTokens[1].animate().cancel();
-                if (playerTokens[2] != null) playerTokens[2].animate().cancel();
-            }
+            moveAnimator.cancel();
+            boardPipeline.cancel();
 
             menuOverlay.setVisibility(View.VISIBLE);
             gameGroup.setVisibility(View.INVISIBLE);
@@ -105,12 +170,128 @@ public class MainActivity extends AppCompatActivity {
                 resetButton.setEnabled(true);
             }, 3000);
         });
-        
-        if (squares == null) {
-            setupBoard();
+
+        // The menu is all the first frame shows. The board view is sized, its tokens created and the
+        // next board prepared once that frame is out, or as soon as a game needs them.
+        root.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                root.getViewTreeObserver().removeOnPreDrawListener(this);
+                metrics.firstFrame.recordSince(createdNanos);
+                Looper.myQueue().addIdleHandler(() -> {
+                    if (!isDestroyed()) {
+                        ensureBoardSetUp();
+                        boardPipeline.prefetch();
+                    }
+                    return false;
+                });
+                return true;
+            }
+        });
+
+        byte[] snapshot = savedInstanceState != null ? savedInstanceState.getByteArray(KEY_SNAPSHOT) : null;
+        if (snapshot != null) {
+            restoreGame(GameSnapshot.fromBytes(snapshot), savedInstanceState.getBoolean(KEY_VS_COMPUTER, true));
         }
     }
 
+    @Override
+    protected void onPause() {
+        super.onPause();
+        flushReplayLog();
+    }
+
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        if (engine != null && !engine.isOver() && gameGroup.getVisibility() == View.VISIBLE) {
+            outState.putByteArray(KEY_SNAPSHOT, GameSnapshot.of(engine).toBytes());
+            outState.putBoolean(KEY_VS_COMPUTER, isVsComputer);
+        }
+        flushReplayLog();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        gameHandler.removeCallbacksAndMessages(null);
+        moveAnimator.cancel();
+        metrics.detach(getWindow());
+        boardExecutor.shutdownNow();
+        closeReplayLog();
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static RuleVariant rulesFromName(String name) {
+        if (name != null) {
+            for (RuleVariant r : RuleVariant.values()) {
+                if (r.name().equals(name)) return r;
+            }
+        }
+        return RuleVariant.CLASSIC;
+    }
+
+    // Returns the process-wide analysis cache for a rule variant. Only called on the main thread.
+    @VisibleForTesting
+    static AnalysisCache analysesFor(RuleVariant rules) {
+        AnalysisCache cache = ANALYSES.get(rules);
+        if (cache == null) {
+            cache = new AnalysisCache(ANALYSIS_CACHE_SIZE, rules);
+            ANALYSES.put(rules, cache);
+        }
+        return cache;
+    }
+
+    // Returns the refresh rate of the display this activity is shown on.
+    private float displayRefreshRate() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) return getDisplay().getRefreshRate();
+        return defaultDisplayRefreshRate();
+    }
+
+    // Before API 30 the window manager's default display is the only way to reach it.
+    @SuppressWarnings("deprecation")
+    private float defaultDisplayRefreshRate() {
+        return getWindowManager().getDefaultDisplay().getRefreshRate();
+    }
+
+    // Adds the metrics report to `adb shell dumpsys activity com.example.snakesandladders`.
+    @Override
+    public void dump(@NonNull String prefix, FileDescriptor fd, @NonNull PrintWriter writer, String[] args) {
+        super.dump(prefix, fd, writer, args);
+        writer.print(prefix);
+        writer.println("GameMetrics:");
+        for (String line : metrics.report().split("\n")) {
+            writer.print(prefix);
+            writer.print("  ");
+            writer.println(line);
+        }
+        writer.print(prefix);
+        writer.println(String.format(Locale.US, "  analyses=%d hits=%d misses=%d",
+                analyses.size(), analyses.hits(), analyses.misses()));
+    }
+
+    @VisibleForTesting
+    GameEngine getEngine() {
+        return engine;
+    }
+
+    @VisibleForTesting
+    GameMetrics getMetrics() {
+        return metrics;
+    }
+
+    @VisibleForTesting
+    BoardCache getBoardCache() {
+        return boardCache;
+    }
+
+    private void refreshPerfOverlay() {
+        if (perfOverlay.getVisibility() == View.VISIBLE) perfOverlay.setText(metrics.report());
+    }
+
     // Shows an information dialog with game rules.
     private void showInfoDialog() {
         new androidx.appcompat.app.AlertDialog.Builder(this)
@@ -121,417 +302,319 @@ public class MainActivity extends AppCompatActivity {
     }
 
     // Configures and starts a new game session.
+    // The board comes from the pipeline, which normally has one ready.
     private void startGame(boolean vsComputer) {
         this.isVsComputer = vsComputer;
-        this.currentPlayerTurn = 1;
+        ensureBoardSetUp();
 
         menuOverlay.setVisibility(View.GONE);
         gameGroup.setVisibility(View.VISIBLE);
-
-        placePlayer(1, 1);
-        placePlayer(2, 1);
-        lastMovedPlayer = 0;
-        rollButton.setEnabled(true);
+        rollButton.setEnabled(false);
         diceResult.setText("");
-        generateBoardFeatures(); 
+
+        metrics.logAndReset();
+        boardPipeline.take(this::generateBoardFeatures);
     }
 
-    // Creates the grid of squares for the game board.
-    private void setupBoard() {
-        GridLayout grid = findViewById(R.id.gameGrid);
-        grid.setColumnCount(6);
-        grid.setRowCount(10);
-        grid.removeAllViews();
-
-        squares = new TextView[total + 1];
-
-        final int cellDp = 58;
-        final int marginDp = 3;
-        int cellPx = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, cellDp, getResources().getDisplayMetrics());
-        int marginPx = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, marginDp, getResources().getDisplayMetrics());
-
-        for (int i = 0; i < total; i++) {
-            int number = i + 1;
-            int rowIndex = 9 - (i / 6);
-            int colIndex = i % 6;
-
-            TextView tv = new TextView(this);
-            tv.setText(String.valueOf(number));
-            tv.setGravity(Gravity.CENTER);
-            tv.setTextSize(TypedValue.COMPLEX_UNIT_SP, 18);
-            tv.setTextColor(Color.BLACK);
-
-            GradientDrawable cellBg = new GradientDrawable();
-            if (number == total) {
-                cellBg.setColor(Color.parseColor("#FFD700"));
-            } else {
-                cellBg.setColor(Color.WHITE);
-            }
-            int strokePx = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 3f, getResources().getDisplayMetrics());
-            cellBg.setStroke(strokePx, Color.BLACK);
-            cellBg.setCornerRadius(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 4f, getResources().getDisplayMetrics()));
-            tv.setBackground(cellBg);
-            tv.setElevation(0f); 
-
-            GridLayout.LayoutParams lp = new GridLayout.LayoutParams(GridLayout.spec(rowIndex), GridLayout.spec(colIndex));
-            lp.width = cellPx;
-            lp.height = cellPx;
-            lp.setMargins(marginPx, marginPx, marginPx, marginPx);
-            tv.setLayoutParams(lp);
-
-            grid.addView(tv);
-            squares[number] = tv;
-        }
-        createPlayers(cellPx);
-    }
-
-    // Randomly generates snakes and ladders on the board.
-    private void generateBoardFeatures() {
-        for (int i = 1; i <= total; i++) {
-            TextView square = getSquare(i);
-            if (square != null) {
-                GradientDrawable bg = (GradientDrawable) square.getBackground();
-                if (i == total) {
-                    bg.setColor(Color.parseColor("#FFD700"));
-                } else {
-                    bg.setColor(Color.WHITE);
-                }
-            }
+    // Resumes a game saved before a configuration change or process death, without generating a board.
+    private void restoreGame(GameSnapshot snapshot, boolean vsComputer) {
+        this.isVsComputer = vsComputer;
+        ensureBoardSetUp();
+        engine = snapshot.restore();
+        solvePolicy(engine);
+        renderBoard(BoardPipeline.prepare(engine.board(), null));
+        createPlayers(engine.playerCount());
+        for (int seat = 0; seat < engine.playerCount(); seat++) {
+            placePlayer(seat, engine.position(seat));
         }
 
-        snakes.clear();
-        ladders.clear();
-
-        Random rand = new Random();
-        Set<Integer> usedSquares = new HashSet<>();
-
-        final int lightGreen = Color.parseColor("#BFBBF2C6");
-        final int lightBlue = Color.parseColor("#6600008B");
-        final int lightRed = Color.parseColor("#BFF8C6CF");
-
-        int targetLadders = 2 + rand.nextInt(4);
-        for (int i = 0; i < targetLadders; i++) {
-            int start, end;
-            do {
-                start = rand.nextInt(total - 10) + 2;
-                end = start + rand.nextInt(13) + 6;
-            } while (end >= total || usedSquares.contains(start) || usedSquares.contains(end));
-            ladders.put(start, end);
-            usedSquares.add(start);
-            usedSquares.add(end);
-            highlightSquare(start, lightGreen);
-            highlightSquare(end, lightBlue);
-        }
+        menuOverlay.setVisibility(View.GONE);
+        gameGroup.setVisibility(View.VISIBLE);
+        diceResult.setText("");
+        continueReplayLog(snapshot);
 
-        int targetSnakes = 2 + rand.nextInt(4);
-        for (int i = 0; i < targetSnakes; i++) {
-            int start, end;
-            do {
-                start = rand.nextInt(total - 10) + 10;
-                end = start - (rand.nextInt(13) + 6);
-            } while (end <= 1 || usedSquares.contains(start) || usedSquares.contains(end));
-            snakes.put(start, end);
-            usedSquares.add(start);
-            usedSquares.add(end);
-            highlightSquare(start, lightRed);
-            highlightSquare(end, lightBlue);
+        if (isComputer(engine.currentSeat())) {
+            rollButton.setEnabled(false);
+            startComputerTurn();
+        } else {
+            rollButton.setEnabled(true);
         }
+    }
 
-        List<LinesOverlay.BoardItem> items = new ArrayList<>();
-        int[] ladderResIds = {R.drawable.ladder_brown, R.drawable.ladder_red, R.drawable.ladder_green, R.drawable.ladder_yellow};
-        for (Map.Entry<Integer, Integer> e : ladders.entrySet()) {
-            items.add(new LinesOverlay.BoardItem(getSquare(e.getKey()), getSquare(e.getValue()), ladderResIds[rand.nextInt(ladderResIds.length)]));
+    // Starts a fresh replay log for the current game in the app's files directory.
+    private void openReplayLog() {
+        closeReplayLog();
+        try {
+            replayLog = new ReplayLog.Writer(new File(getFilesDir(), REPLAY_FILE), GameSnapshot.of(engine));
+        } catch (IOException e) {
+            Log.w(TAG, "Could not start replay log", e);
         }
+    }
 
-        int[] snakeResIds = {R.drawable.snake_green, R.drawable.snake_pink, R.drawable.snake_yellow, R.drawable.snake_purple};
-        for (Map.Entry<Integer, Integer> e : snakes.entrySet()) {
-            items.add(new LinesOverlay.BoardItem(getSquare(e.getKey()), getSquare(e.getValue()), snakeResIds[rand.nextInt(snakeResIds.length)]));
+    // Reopens the replay log of a restored game so new rolls are appended to it. Turns the old
+    // activity played after saving the snapshot are cut from the log, as the restored game plays them again.
+    private void continueReplayLog(GameSnapshot snapshot) {
+        closeReplayLog();
+        try {
+            replayLog = ReplayLog.Writer.resume(new File(getFilesDir(), REPLAY_FILE), snapshot);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not reopen replay log", e);
         }
-
-        linesOverlay.setItems(items);
-        linesOverlay.invalidate();
     }
 
-    // Sets the background color of a specific square.
-    private void highlightSquare(int number, int color) {
-        TextView square = getSquare(number);
-        if (square != null) {
-            GradientDrawable bg = (GradientDrawable) square.getBackground();
-            bg.setColor(color);
+    // Records the roll of the move the engine just made.
+    private void logRoll() {
+        if (replayLog == null) return;
+        try {
+            replayLog.append(engine.lastRoll());
+        } catch (IOException e) {
+            Log.w(TAG, "Could not append to replay log", e);
+            closeReplayLog();
         }
     }
 
-    // Returns the TextView for a given square number.
-    private TextView getSquare(int number) {
-        if (number < 1 || number > total) return null;
-        return squares[number];
+    private void flushReplayLog() {
+        if (replayLog == null) return;
+        try {
+            replayLog.flush();
+        } catch (IOException e) {
+            Log.w(TAG, "Could not flush replay log", e);
+        }
     }
 
-    // Creates the player tokens and adds them to the board.
-    private void createPlayers(int cellPx) {
-        playerTokens = new TextView[3];
-        playerPositions = new int[3];
-
-        final int tokenSize = (int) (cellPx * 0.45f);
-
-        playerTokens[1] = createTokenView(Color.BLUE, tokenSize);
-        playerTokens[1].setTag("player1");
-        boardContainer.addView(playerTokens[1], new ViewGroup.LayoutParams(tokenSize, tokenSize));
-
-        playerTokens[2] = createTokenView(Color.parseColor("#FF4081"), tokenSize);
-        playerTokens[2].setTag("player2");
-        boardContainer.addView(playerTokens[2], new ViewGroup.LayoutParams(tokenSize, tokenSize));
-
-        playerPositions[1] = 0;
-        playerPositions[2] = 0;
+    private void closeReplayLog() {
+        if (replayLog == null) return;
+        try {
+            replayLog.close();
+        } catch (IOException e) {
+            Log.w(TAG, "Could not close replay log", e);
+        }
+        replayLog = null;
     }
 
-    // Creates a single player token view with a specific color.
-    private TextView createTokenView(int color, int sizePx) {
-        TextView token = new TextView(this);
-        token.setWidth(sizePx);
-        token.setHeight(sizePx);
+    private void ensureBoardSetUp() {
+        if (boardSetUp) return;
+        boardSetUp = true;
+        setupBoard();
+    }
 
-        Drawable d = ContextCompat.getDrawable(this, R.drawable.ic_stick_figure);
-        d = DrawableCompat.wrap(d.mutate());
-        DrawableCompat.setTint(d, color);
-        token.setBackground(d);
-        token.setElevation(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 10f, getResources().getDisplayMetrics()));
-        return token;
+    // Sizes the board view and creates the player tokens.
+    private void setupBoard() {
+        metrics.setupBoard.begin();
+        boardView.setBoardSize(total);
+        createPlayers(playerCount);
+        metrics.setupBoard.end();
     }
 
-    // Calculates the screen coordinates for a token on a given square.
-    @Nullable
-    private float[] getTokenCoordinates(int playerId, int squareNumber) {
-        TextView square = getSquare(squareNumber);
-        if (square == null) return null;
+    // Starts a game on a prepared board; everything expensive already happened in the pipeline.
+    private void generateBoardFeatures(BoardPipeline.PreparedBoard prepared) {
+        metrics.generateBoardFeatures.begin();
+        engine = new GameEngine(prepared.board, new SeededDice(random.split()), playerCount);
+        computerStrategy = prepared.policy;
+        renderBoard(prepared);
+        createPlayers(playerCount);
+        for (int seat = 0; seat < playerCount; seat++) {
+            placePlayer(seat, Board.START_SQUARE);
+        }
+        rollButton.setEnabled(true);
+        openReplayLog();
+        metrics.generateBoardFeatures.end();
+        refreshPerfOverlay();
+    }
 
-        int[] parentLoc = new int[2];
-        boardContainer.getLocationOnScreen(parentLoc);
-        int[] sqLoc = new int[2];
-        square.getLocationOnScreen(sqLoc);
+    // Solves the computer's policy for a restored board in the background; the computer plays
+    // plain rolls until it arrives.
+    private void solvePolicy(GameEngine game) {
+        computerStrategy = RandomRollStrategy.INSTANCE;
+        if (rules == RuleVariant.CLASSIC) return;
+        Board board = game.board();
+        boardExecutor.execute(() -> {
+            PolicyTable policy = analyses.analyze(board).policy();
+            gameHandler.post(() -> {
+                if (engine == game) computerStrategy = policy;
+            });
+        });
+    }
 
-        int squareX = sqLoc[0] - parentLoc[0];
-        int squareY = sqLoc[1] - parentLoc[1];
-        int squareW = square.getWidth();
-        int squareH = square.getHeight();
+    // Applies a prepared board's square colors and snakes and ladders to the view.
+    private void renderBoard(BoardPipeline.PreparedBoard prepared) {
+        boardView.setBoardSize(prepared.board.total());
+        boardView.setCellColors(prepared.colors);
+        boardView.setItems(prepared.items);
+    }
 
-        View token = playerTokens[playerId];
-        int tokenW = token.getWidth();
-        int tokenH = token.getHeight();
-        if (tokenW == 0) tokenW = (int) (squareW * 0.45f);
-        if (tokenH == 0) tokenH = tokenW;
+    // Creates one player token per seat on the board view.
+    private void createPlayers(int count) {
+        boardView.setTokens(Arrays.copyOf(TOKEN_COLORS, count));
+    }
 
-        float centerX = squareX + (squareW - tokenW) / 2f;
-        float centerY = squareY + (squareH - tokenH) / 2f;
-        float separation = tokenW * 0.18f;
+    // Instantly places a seat's token on a specific square.
+    private void placePlayer(int seat, int squareNumber) {
+        if (squareNumber < 1 || squareNumber > boardView.getTotal()) return;
 
-        float tx = (playerId == 1) ? centerX - separation : centerX + separation;
-        float ty = (playerId == 1) ? centerY - separation : centerY + separation;
-        
-        return new float[]{tx, ty};
+        boardView.placeToken(seat, squareNumber);
     }
 
-    // Instantly places a player token on a specific square.
-    private void placePlayer(int playerId, int squareNumber) {
-        if (playerId < 1 || playerId > 2) return;
-        if (squareNumber < 1 || squareNumber > total) return;
-
-        float[] coords = getTokenCoordinates(playerId, squareNumber);
-        if (coords == null) return;
+    // Renders the engine's last move as one animation: steps to the landing square, then slides along any snake or ladder.
+    private void movePlayerAndCheck(int seat, Runnable onComplete) {
+        moveAnimator.start(seat, engine.lastFrom(), engine.lastLanding(), engine.lastTo(), pacing, onComplete);
+    }
 
-        View token = playerTokens[playerId];
-        token.setX(coords[0]);
-        token.setY(coords[1]);
+    private boolean isComputer(int seat) {
+        return isVsComputer && seat != 0;
+    }
 
-        playerPositions[playerId] = squareNumber;
-        token.bringToFront();
+    // Returns how messages refer to a seat.
+    private String seatName(int seat) {
+        if (!isVsComputer) return getString(R.string.name_player_n, seat + 1);
+        if (seat == 0) return getString(R.string.name_player);
+        return engine.playerCount() == 2 ? getString(R.string.name_computer) : getString(R.string.name_computer_n, seat);
     }
 
-    // Animates a player token sliding to a target square.
-    private void animateSlide(int playerId, int targetSquare, Runnable onComplete) {
-        float[] coords = getTokenCoordinates(playerId, targetSquare);
-        if (coords == null) {
-            if (onComplete != null) onComplete.run();
-            return;
+    // Hands the turn to the next seat: computers play on their own, people get the roll button back.
+    private void nextTurn() {
+        refreshPerfOverlay();
+        if (isComputer(engine.currentSeat())) {
+            startComputerTurn();
+        } else if (isVsComputer) {
+            rollButton.setEnabled(true);
+        } else {
+            gameHandler.postDelayed(() -> rollButton.setEnabled(true), pacing.turnHandoffMs);
         }
-
-        View token = playerTokens[playerId];
-        token.animate()
-             .x(coords[0])
-             .y(coords[1])
-             .setDuration(1200)
-             .setInterpolator(new AccelerateDecelerateInterpolator())
-             .withEndAction(() -> {
-                placePlayer(playerId, targetSquare);
-                if (onComplete != null) onComplete.run();
-             })
-             .start();
-    }
-
-    // Moves a player and checks for snakes or ladders.
-    private void movePlayerAndCheck(int playerId, int steps, Runnable onComplete) {
-        animateSteps(playerId, steps, () -> {
-            int currentPos = getPlayerPosition(playerId);
-            Integer ladderDest = ladders.get(currentPos);
-            Integer snakeDest = snakes.get(currentPos);
-            
-            Runnable slideAction = null;
-            if (ladderDest != null) {
-                slideAction = () -> animateSlide(playerId, ladderDest, onComplete);
-            } else if (snakeDest != null) {
-                slideAction = () -> animateSlide(playerId, snakeDest, onComplete);
-            }
-
-            if (slideAction != null) {
-                gameHandler.postDelayed(slideAction, 500);
-            } else {
-                lastMovedPlayer = playerId;
-                if (onComplete != null) onComplete.run();
-            }
-        });
     }
 
-    // Animates a player moving one square at a time.
-    private void animateSteps(int playerId, int stepsRemaining, Runnable onFinished) {
-        if (stepsRemaining <= 0) {
-            if (onFinished != null) onFinished.run();
+    // Handles the dice roll logic for the current player.
+    public void rollDice() {
+        rollButton.setEnabled(false);
+        if (pacing.skipToEnd) {
+            skipToEnd();
             return;
         }
 
-        int current = getPlayerPosition(playerId);
-        if (current >= total) {
-             if (onFinished != null) onFinished.run();
-             return;
+        Dice dice = engine.dice();
+        int roll = dice.roll();
+        if (rules == RuleVariant.CHOOSE_DIE) {
+            chooseDie(roll, dice.roll());
+        } else if (rules == RuleVariant.REROLL_ONCE) {
+            offerReroll(roll);
+        } else {
+            playRoll(roll);
         }
-
-        placePlayer(playerId, current + 1);
-
-        gameHandler.postDelayed(() -> animateSteps(playerId, stepsRemaining - 1, onFinished), 400);
     }
 
-    // Returns the current square number of a player.
-    private int getPlayerPosition(int playerId) {
-        if (playerId < 1 || playerId > 2) return 0;
-        return playerPositions[playerId];
+    // Lets the current player pick which of two dice to move by.
+    private void chooseDie(int first, int second) {
+        CharSequence[] options = {getString(R.string.move_by, first), getString(R.string.move_by, second)};
+        new androidx.appcompat.app.AlertDialog.Builder(this)
+            .setTitle(getString(R.string.rolled_two_dice, first, second))
+            .setItems(options, (dialog, which) -> playRoll(which == 0 ? first : second))
+            .setCancelable(false)
+            .show();
     }
 
-    // Handles the dice roll logic for the current player.
-    public void rollDice() {
-        rollButton.setEnabled(false);
+    // Lets the current player keep a roll or re-roll it once.
+    private void offerReroll(int roll) {
+        CharSequence[] options = {getString(R.string.move_by, roll), getString(R.string.reroll)};
+        new androidx.appcompat.app.AlertDialog.Builder(this)
+            .setTitle(getString(R.string.rolled_one_die, roll))
+            .setItems(options, (dialog, which) -> playRoll(which == 0 ? roll : engine.dice().roll()))
+            .setCancelable(false)
+            .show();
+    }
 
-        Random rand = new Random();
-        int steps = rand.nextInt(6) + 1;
+    // Moves the current player by the chosen roll and hands the turn on.
+    private void playRoll(int roll) {
+        metrics.roll.begin();
+        final int seat = engine.currentSeat();
+        engine.move(roll);
+        logRoll();
 
         if (diceResult != null) {
-            String rollText = isVsComputer ? 
-                getString(R.string.player_rolled, steps) :
-                (currentPlayerTurn == 1 ? getString(R.string.player_1_rolled, steps) : getString(R.string.player_2_rolled, steps));
-            diceResult.setText(rollText);
+            diceResult.setText(getString(R.string.seat_rolled, seatName(seat), engine.lastRoll()));
         }
+        metrics.countTurn();
+        metrics.roll.end();
 
-        gameHandler.postDelayed(() -> movePlayerAndCheck(currentPlayerTurn, steps, () -> {
-            if (checkIfWin()) return;
-            
-            if (isVsComputer) {
-                startComputerTurn();
-            } else {
-                currentPlayerTurn = (currentPlayerTurn == 1) ? 2 : 1;
-                gameHandler.postDelayed(() -> rollButton.setEnabled(true), 1000);
-            }
-        }), 300);
+        gameHandler.postDelayed(() -> movePlayerAndCheck(seat, () -> {
+            if (!checkIfWin()) nextTurn();
+        }), pacing.rollToMoveMs);
+    }
+
+    // Plays the rest of the game in the engine and renders only the final positions.
+    // Every seat plays the computer's decisions.
+    private void skipToEnd() {
+        boolean won = false;
+        for (int moves = 0; !won && moves < MonteCarloSimulator.DEFAULT_MAX_MOVES; moves++) {
+            won = engine.step(rules, computerStrategy);
+            logRoll();
+            metrics.countTurn();
+        }
+        for (int seat = 0; seat < engine.playerCount(); seat++) {
+            placePlayer(seat, engine.position(seat));
+        }
+        diceResult.setText(getString(R.string.seat_rolled, seatName(engine.lastSeat()), engine.lastRoll()));
+        if (won) {
+            checkIfWin();
+        } else {
+            showAbandoned();
+        }
+    }
+
+    // Ends a skipped game that hit the move cap without a winner, as the simulator does.
+    private void showAbandoned() {
+        refreshPerfOverlay();
+        new androidx.appcompat.app.AlertDialog.Builder(this)
+            .setTitle(R.string.abandoned_title)
+            .setMessage(getString(R.string.abandoned_after, MonteCarloSimulator.DEFAULT_MAX_MOVES))
+            .setPositiveButton(R.string.ok, (dialog, which) -> {
+                menuOverlay.setVisibility(View.VISIBLE);
+                gameGroup.setVisibility(View.INVISIBLE);
+            })
+            .show();
     }
 
-    // Manages the computer's turn.
+    // Manages a computer seat's turn.
     private void startComputerTurn() {
         gameHandler.postDelayed(() -> {
-            int steps = new Random().nextInt(6) + 1;
-            diceResult.setText(getString(R.string.computer_rolled, steps));
-            movePlayerAndCheck(2, steps, () -> {
-                if (!checkIfWin()) {
-                    rollButton.setEnabled(true);
-                }
+            metrics.roll.begin();
+            int seat = engine.currentSeat();
+            engine.step(rules, computerStrategy);
+            logRoll();
+            diceResult.setText(getString(R.string.seat_rolled, seatName(seat), engine.lastRoll()));
+            metrics.countTurn();
+            metrics.roll.end();
+            movePlayerAndCheck(seat, () -> {
+                if (!checkIfWin()) nextTurn();
             });
-        }, 1500);
+        }, pacing.computerDelayMs);
     }
 
-    // Checks if the last moved player has won the game.
+    // Checks if the last move won the game.
     public boolean checkIfWin() {
-        if (lastMovedPlayer == 0) return false;
-        if (getPlayerPosition(lastMovedPlayer) == total) {
-            String msg = isVsComputer ? 
-                (lastMovedPlayer == 1 ? getString(R.string.player_won) : getString(R.string.computer_won)) :
-                (lastMovedPlayer == 1 ? getString(R.string.player_1_won) : getString(R.string.player_2_won));
-            
-            Drawable winnerIcon = ContextCompat.getDrawable(this, R.drawable.ic_winner);
-            
-            new androidx.appcompat.app.AlertDialog.Builder(this)
-                .setTitle(R.string.winner_title)
-                .setMessage(msg)
-                .setIcon(winnerIcon)
-                .setPositiveButton(R.string.ok, (dialog, which) -> {
-                    menuOverlay.setVisibility(View.VISIBLE);
-                    gameGroup.setVisibility(View.INVISIBLE);
-                })
-                .show();
-            return true;
-        }
-        return false;
-    }
-
-    // Custom view to draw snakes and ladders.
-    private static class LinesOverlay extends View {
-        static class BoardItem {
-            final float sx, sy, ex, ey;
-            final int resId;
-            BoardItem(View startV, View endV, int resId) {
-                int[] parentLoc = new int[2];
-                ((View)startV.getParent().getParent()).getLocationOnScreen(parentLoc);
-
-                int[] sLoc = new int[2];
-                startV.getLocationOnScreen(sLoc);
-                int[] eLoc = new int[2];
-                endV.getLocationOnScreen(eLoc);
-
-                this.sx = (sLoc[0] - parentLoc[0]) + startV.getWidth() / 2f;
-                this.sy = (sLoc[1] - parentLoc[1]) + startV.getHeight() / 2f;
-                this.ex = (eLoc[0] - parentLoc[0]) + endV.getWidth() / 2f;
-                this.ey = (eLoc[1] - parentLoc[1]) + endV.getHeight() / 2f;
-                this.resId = resId;
-            }
-        }
-
-        private List<BoardItem> items = new ArrayList<>();
-
-        public LinesOverlay(MainActivity ctx) {
-            super(ctx);
-        }
-
-        public void setItems(List<BoardItem> items) {
-            this.items = items != null ? items : new ArrayList<>();
+        metrics.winCheck.begin();
+        try {
+            return showWinnerIfOver();
+        } finally {
+            metrics.winCheck.end();
         }
+    }
 
-        @Override
-        protected void onDraw(@NonNull Canvas canvas) {
-            super.onDraw(canvas);
-            for (BoardItem item : items) {
-                Drawable d = ContextCompat.getDrawable(getContext(), item.resId);
-                if (d == null) continue;
-
-                float dx = item.ex - item.sx;
-                float dy = item.ey - item.sy;
-                float distance = (float) Math.sqrt(dx * dx + dy * dy);
-                float angle = (float) Math.toDegrees(Math.atan2(dy, dx)) - 90;
-
-                int w = d.getIntrinsicWidth();
-                
-                canvas.save();
-                canvas.translate(item.sx, item.sy);
-                canvas.rotate(angle);
-                d.setBounds(-w / 2, 0, w / 2, (int) distance);
-                d.draw(canvas);
-                canvas.restore();
-            }
-        }
+    private boolean showWinnerIfOver() {
+        if (engine == null || !engine.isOver()) return false;
+        refreshPerfOverlay();
+        String msg = getString(R.string.seat_won, seatName(engine.winner()));
+        
+        Drawable winnerIcon = ContextCompat.getDrawable(this, R.drawable.ic_winner);
+        
+        new androidx.appcompat.app.AlertDialog.Builder(this)
+            .setTitle(R.string.winner_title)
+            .setMessage(msg)
+            .setIcon(winnerIcon)
+            .setPositiveButton(R.string.ok, (dialog, which) -> {
+                menuOverlay.setVisibility(View.VISIBLE);
+                gameGroup.setVisibility(View.INVISIBLE);
+            })
+            .show();
+        return true;
     }
 }
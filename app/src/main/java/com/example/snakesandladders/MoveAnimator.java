@@ -0,0 +1,132 @@
+package com.example.snakesandladders;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.LinearInterpolator;
+
+// Animates a whole move with one ValueAnimator: hops square by square to the landing square,
+// pauses, then slides along any snake or ladder. The keyframe path is precomputed per move
+// into reused arrays, and cancel() stops the move without running its completion callback.
+// The hop and slide phases are timed as the turn.steps and turn.slide metrics.
+final class MoveAnimator {
+
+    private final BoardView boardView;
+    private final GameMetrics metrics;
+    private final ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+    private final AccelerateDecelerateInterpolator slideInterpolator = new AccelerateDecelerateInterpolator();
+    private float[] pathX = new float[0];
+    private float[] pathY = new float[0];
+
+    private int token;
+    private int hops;
+    private int destination;
+    private long stepMs;
+    private long slideStartMs;
+    private long slideMs;
+    private int shownKeyframe;
+    private boolean cancelled;
+    private Runnable onEnd;
+    private FrameTimer openPhase;
+
+    MoveAnimator(BoardView boardView, GameMetrics metrics) {
+        this.boardView = boardView;
+        this.metrics = metrics;
+        animator.setInterpolator(new LinearInterpolator());
+        animator.addUpdateListener(animation -> onFrame(animation.getAnimatedFraction() * animation.getDuration()));
+        animator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationCancel(Animator animation) {
+                cancelled = true;
+            }
+
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                if (cancelled) return;
+                finish();
+            }
+        });
+    }
+
+    // Starts animating a token from one square to the landing square and on to the destination.
+    void start(int token, int from, int landing, int destination, Pacing pacing, Runnable onEnd) {
+        cancel();
+        this.token = token;
+        this.destination = destination;
+        this.onEnd = onEnd;
+        this.hops = Math.max(0, landing - from);
+        this.stepMs = pacing.stepMs;
+        boolean slides = destination != landing;
+        this.slideMs = slides ? pacing.slideMs : 0;
+
+        if (pathX.length < hops + 2) {
+            pathX = new float[hops + 2];
+            pathY = new float[hops + 2];
+        }
+        for (int k = 0; k < hops; k++) {
+            pathX[k] = boardView.tokenXFor(token, from + k + 1);
+            pathY[k] = boardView.tokenYFor(token, from + k + 1);
+        }
+        pathX[hops] = boardView.tokenXFor(token, destination);
+        pathY[hops] = boardView.tokenYFor(token, destination);
+
+        long hopsMs = hops * stepMs;
+        slideStartMs = hopsMs + (slides ? pacing.slidePauseMs : 0);
+        long duration = slideStartMs + slideMs;
+        if (duration == 0) {
+            finish();
+            return;
+        }
+        shownKeyframe = -1;
+        cancelled = false;
+        enterPhase(metrics.steps);
+        animator.setDuration(duration);
+        animator.start();
+    }
+
+    // Stops the current move, leaving the token where it is.
+    void cancel() {
+        if (animator.isStarted()) animator.cancel();
+        if (openPhase != null) openPhase.abandonAsync();
+        openPhase = null;
+        onEnd = null;
+    }
+
+    boolean isRunning() {
+        return animator.isStarted();
+    }
+
+    private void onFrame(float elapsedMs) {
+        if (elapsedMs < slideStartMs || slideMs == 0) {
+            int keyframe = stepMs == 0 ? hops - 1 : Math.min(hops - 1, (int) (elapsedMs / stepMs));
+            if (keyframe >= 0 && keyframe != shownKeyframe) {
+                shownKeyframe = keyframe;
+                boardView.setTokenPosition(token, pathX[keyframe], pathY[keyframe]);
+            }
+            return;
+        }
+        enterPhase(metrics.slide);
+        int from = Math.max(0, hops - 1);
+        float t = slideInterpolator.getInterpolation(Math.min(1f, (elapsedMs - slideStartMs) / slideMs));
+        float x = pathX[from] + (pathX[hops] - pathX[from]) * t;
+        float y = pathY[from] + (pathY[hops] - pathY[from]) * t;
+        boardView.setTokenPosition(token, x, y);
+    }
+
+    // Ends the running phase's timer and starts the given one.
+    private void enterPhase(FrameTimer phase) {
+        if (phase == openPhase) return;
+        if (openPhase != null) openPhase.endAsync();
+        openPhase = phase;
+        if (phase != null) phase.beginAsync();
+    }
+
+    private void finish() {
+        enterPhase(null);
+        boardView.placeToken(token, destination);
+        Runnable callback = onEnd;
+        onEnd = null;
+        if (callback != null) callback.run();
+    }
+}
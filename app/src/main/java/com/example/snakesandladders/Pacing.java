@@ -0,0 +1,42 @@
+package com.example.snakesandladders;
+
+// Animation and delay timings for a game, in milliseconds.
+// SKIP_TO_END plays the whole game through the engine on the first roll and only renders the result.
+public enum Pacing {
+    NORMAL(400, 1200, 300, 500, 1000, 1500, false),
+    FAST(100, 300, 75, 125, 250, 375, false),
+    INSTANT(0, 0, 0, 0, 0, 0, false),
+    SKIP_TO_END(0, 0, 0, 0, 0, 0, true);
+
+    // Intent extra holding the name of the pacing to use, e.g. "FAST".
+    public static final String EXTRA_PACING = "com.example.snakesandladders.PACING";
+
+    final long stepMs;
+    final long slideMs;
+    final long rollToMoveMs;
+    final long slidePauseMs;
+    final long turnHandoffMs;
+    final long computerDelayMs;
+    final boolean skipToEnd;
+
+    Pacing(long stepMs, long slideMs, long rollToMoveMs, long slidePauseMs, long turnHandoffMs,
+           long computerDelayMs, boolean skipToEnd) {
+        this.stepMs = stepMs;
+        this.slideMs = slideMs;
+        this.rollToMoveMs = rollToMoveMs;
+        this.slidePauseMs = slidePauseMs;
+        this.turnHandoffMs = turnHandoffMs;
+        this.computerDelayMs = computerDelayMs;
+        this.skipToEnd = skipToEnd;
+    }
+
+    // Returns the pacing with the given name, or NORMAL if the name is missing or unknown.
+    static Pacing fromName(String name) {
+        if (name != null) {
+            for (Pacing p : values()) {
+                if (p.name().equals(name)) return p;
+            }
+        }
+        return NORMAL;
+    }
+}
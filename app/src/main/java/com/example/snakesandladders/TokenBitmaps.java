@@ -0,0 +1,67 @@
+package com.example.snakesandladders;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+import androidx.annotation.VisibleForTesting;
+import androidx.core.content.ContextCompat;
+import androidx.core.graphics.drawable.DrawableCompat;
+
+// Process-wide cache of the player token artwork, rasterized once per color and pixel size and then
+// shared by every seat, board view and game. The vector is inflated once for the whole process.
+// Main thread only.
+final class TokenBitmaps {
+
+    private static final int MAX_BYTES = 2 * 1024 * 1024;
+
+    private static final LruCache<Long, Bitmap> CACHE = new LruCache<Long, Bitmap>(MAX_BYTES) {
+        @Override
+        protected int sizeOf(Long key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+    private static Drawable artwork;
+    private static int rasterized;
+
+    private TokenBitmaps() {
+    }
+
+    // Returns the token artwork tinted with the given color, size pixels square.
+    static Bitmap get(Context context, int color, int size) {
+        long key = (long) color << 32 | size;
+        Bitmap bitmap = CACHE.get(key);
+        if (bitmap == null) {
+            bitmap = rasterize(context, color, size);
+            CACHE.put(key, bitmap);
+        }
+        return bitmap;
+    }
+
+    // Returns how many bitmaps have been drawn since the process started.
+    @VisibleForTesting
+    static int rasterized() {
+        return rasterized;
+    }
+
+    // Drops every cached bitmap, so the next draw of each token rasterizes it again.
+    @VisibleForTesting
+    static void clear() {
+        CACHE.evictAll();
+    }
+
+    private static Bitmap rasterize(Context context, int color, int size) {
+        if (artwork == null) {
+            Drawable d = ContextCompat.getDrawable(context.getApplicationContext(), R.drawable.ic_stick_figure);
+            artwork = DrawableCompat.wrap(d.mutate());
+        }
+        DrawableCompat.setTint(artwork, color);
+        Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        artwork.setBounds(0, 0, size, size);
+        artwork.draw(new Canvas(bitmap));
+        rasterized++;
+        return bitmap;
+    }
+}
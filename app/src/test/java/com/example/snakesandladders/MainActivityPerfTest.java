@@ -0,0 +1,139 @@
+package com.example.snakesandladders;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Dialog;
+import android.content.Intent;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.time.Duration;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowDialog;
+import org.robolectric.shadows.ShadowLooper;
+
+import com.example.snakesandladders.engine.GameEngine;
+
+// Plays whole games through MainActivity on a paused main looper: time only moves when the test
+// advances the clock, so animations and delayed turns run without sleeping. Besides the game
+// outcome, each game checks its view count, board draws and posted messages per turn.
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 35)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class MainActivityPerfTest {
+
+    private static final Duration TICK = Duration.ofMillis(50);
+    private static final int MAX_TICKS = 200_000;
+    private static final double MAX_MESSAGES_PER_TURN = 8;
+    // The longest FAST move, six hops, a pause and a slide, lasts about a second: 64 frames of 16ms.
+    private static final double MAX_DRAWS_PER_TURN = 64;
+
+    private static Intent seededIntent(long seed, int players) {
+        return new Intent(RuntimeEnvironment.getApplication(), MainActivity.class)
+            .putExtra(MainActivity.EXTRA_SEED, seed)
+            .putExtra(MainActivity.EXTRA_PLAYERS, players)
+            .putExtra(Pacing.EXTRA_PACING, Pacing.FAST.name());
+    }
+
+    // Starts a game from the menu and rolls for every human seat until the winner dialog shows.
+    private static GameEngine playToEnd(MainActivity activity, int menuButtonId) {
+        ShadowLooper looper = shadowOf(Looper.getMainLooper());
+        activity.findViewById(menuButtonId).performClick();
+        looper.idle();
+
+        GameEngine engine = activity.getEngine();
+        assertNotNull(engine);
+        View rollButton = activity.findViewById(R.id.rollButton);
+        Dialog startDialog = ShadowDialog.getLatestDialog();
+        for (int tick = 0; ; tick++) {
+            assertTrue("game did not finish", tick < MAX_TICKS);
+            Dialog dialog = ShadowDialog.getLatestDialog();
+            if (dialog != null && dialog != startDialog && dialog.isShowing()) break;
+            if (rollButton.isEnabled() && !engine.isOver()) activity.rollDice();
+            looper.idleFor(TICK);
+        }
+        assertTrue(engine.isOver());
+        return engine;
+    }
+
+    private static int countViews(View view) {
+        if (!(view instanceof ViewGroup)) return 1;
+        ViewGroup group = (ViewGroup) view;
+        int count = 1;
+        for (int i = 0; i < group.getChildCount(); i++) count += countViews(group.getChildAt(i));
+        return count;
+    }
+
+    // Checks the board was drawn, but no more than once a frame for the longest move, and that each
+    // turn stays within its budget of posted messages.
+    private static void assertTurnBudgets(MainActivity activity) {
+        GameMetrics metrics = activity.getMetrics();
+        BoardView boardView = activity.findViewById(R.id.boardView);
+        long turns = metrics.turns();
+        long draws = boardView.drawTimer().frames();
+        assertTrue("game took no turns", turns > 0);
+        assertTrue("board was never drawn", draws > 0);
+        assertTrue(draws + " draws in " + turns + " turns", draws <= MAX_DRAWS_PER_TURN * turns);
+        assertTrue(metrics.postedMessages() + " messages in " + turns + " turns",
+                metrics.postedMessages() <= MAX_MESSAGES_PER_TURN * turns);
+    }
+
+    @Test
+    public void computerGamePlaysToAWinner() {
+        MainActivity activity = Robolectric.buildActivity(MainActivity.class, seededIntent(3, 2)).setup().get();
+        View root = activity.findViewById(R.id.main);
+        int viewsBefore = countViews(root);
+
+        GameEngine engine = playToEnd(activity, R.id.btnVsComputer);
+
+        BoardView boardView = activity.findViewById(R.id.boardView);
+        int winner = engine.winner();
+        assertEquals(boardView.getTotal(), engine.position(winner));
+        assertEquals(boardView.tokenXFor(winner, engine.position(winner)), boardView.getTokenX(winner), 0.01f);
+
+        assertEquals(engine.turnCount(), activity.getMetrics().turns());
+        assertEquals("tokens are drawn, not added as views", viewsBefore, countViews(root));
+        assertTurnBudgets(activity);
+    }
+
+    @Test
+    public void friendGameMovesEverySeat() {
+        MainActivity activity = Robolectric.buildActivity(MainActivity.class, seededIntent(5, 4)).setup().get();
+
+        GameEngine engine = playToEnd(activity, R.id.btnPlayFriend);
+
+        assertEquals(4, engine.playerCount());
+        BoardView boardView = activity.findViewById(R.id.boardView);
+        for (int seat = 0; seat < engine.playerCount(); seat++) {
+            int square = engine.position(seat);
+            assertEquals(boardView.tokenXFor(seat, square), boardView.getTokenX(seat), 0.01f);
+            assertEquals(boardView.tokenYFor(seat, square), boardView.getTokenY(seat), 0.01f);
+        }
+        assertTurnBudgets(activity);
+    }
+
+    @Test
+    public void seededGamesRepeat() {
+        MainActivity first = Robolectric.buildActivity(MainActivity.class, seededIntent(9, 2)).setup().get();
+        GameEngine a = playToEnd(first, R.id.btnVsComputer);
+        MainActivity second = Robolectric.buildActivity(MainActivity.class, seededIntent(9, 2)).setup().get();
+        GameEngine b = playToEnd(second, R.id.btnVsComputer);
+
+        assertEquals(a.winner(), b.winner());
+        assertEquals(a.turnCount(), b.turnCount());
+        for (int square = 1; square <= a.board().total(); square++) {
+            assertEquals(a.board().destination(square), b.board().destination(square));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.snakesandladders;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Intent;
+import android.os.Looper;
+import android.view.View;
+
+import java.time.Duration;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.shadows.ShadowLooper;
+
+import com.example.snakesandladders.engine.AnalysisCache;
+import com.example.snakesandladders.engine.Difficulty;
+import com.example.snakesandladders.engine.GameEngine;
+import com.example.snakesandladders.engine.RuleVariant;
+
+// Keeps board work off the startup path: onCreate generates and analyses no boards, the first
+// frame only has the menu, and token artwork is rasterized once per color rather than per game.
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 35)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class StartupTimeTest {
+
+    private static final Duration FRAME = Duration.ofMillis(16);
+    private static final int MAX_FRAMES = 100;
+
+    private static Intent seededIntent() {
+        return new Intent(RuntimeEnvironment.getApplication(), MainActivity.class)
+            .putExtra(MainActivity.EXTRA_SEED, 7L)
+            .putExtra(Pacing.EXTRA_PACING, Pacing.FAST.name());
+    }
+
+    // Launches the activity and runs the main looper until its first frame has been drawn.
+    private static ActivityController<MainActivity> launchToFirstFrame() {
+        ShadowLooper looper = shadowOf(Looper.getMainLooper());
+        ActivityController<MainActivity> controller = Robolectric.buildActivity(MainActivity.class, seededIntent()).setup();
+        GameMetrics metrics = controller.get().getMetrics();
+        for (int frame = 0; metrics.firstFrame.frames() == 0; frame++) {
+            if (frame == MAX_FRAMES) throw new AssertionError("no frame was drawn");
+            looper.idleFor(FRAME);
+        }
+        return controller;
+    }
+
+    @Test
+    public void createDoesNoBoardWork() {
+        AnalysisCache analyses = MainActivity.analysesFor(RuleVariant.CLASSIC);
+        long misses = analyses.misses();
+
+        // Nothing posted to the main looper has run yet, so this is the onCreate path alone.
+        ActivityController<MainActivity> controller =
+                Robolectric.buildActivity(MainActivity.class, seededIntent()).create().start().resume();
+        MainActivity activity = controller.get();
+        for (Difficulty d : Difficulty.values()) assertEquals(0, activity.getBoardCache().available(d));
+        assertEquals(misses, analyses.misses());
+        assertEquals(0, activity.getMetrics().setupBoard.frames());
+        assertEquals(0, activity.getMetrics().generateBoardFeatures.frames());
+        assertEquals(0, activity.getMetrics().firstFrame.frames());
+        controller.pause().stop().destroy();
+    }
+
+    @Test
+    public void firstFrameShowsOnlyTheMenuAndTheBoardFollows() {
+        ActivityController<MainActivity> controller = launchToFirstFrame();
+        MainActivity activity = controller.get();
+        assertEquals(View.VISIBLE, activity.findViewById(R.id.menuOverlay).getVisibility());
+        assertEquals(View.GONE, activity.findViewById(R.id.boardView).getVisibility());
+
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(1, activity.getMetrics().setupBoard.frames());
+        controller.pause().stop().destroy();
+    }
+
+    @Test
+    public void tokenArtworkIsSharedAcrossGames() {
+        TokenBitmaps.clear();
+        MainActivity activity = launchToFirstFrame().get();
+        ShadowLooper looper = shadowOf(Looper.getMainLooper());
+        int beforeFirstGame = TokenBitmaps.rasterized();
+
+        activity.findViewById(R.id.btnPlayFriend).performClick();
+        for (int frame = 0; TokenBitmaps.rasterized() == beforeFirstGame; frame++) {
+            if (frame == MAX_FRAMES) throw new AssertionError("the first game drew no tokens");
+            looper.idleFor(FRAME);
+        }
+        GameEngine first = activity.getEngine();
+        assertNotNull(first);
+        int afterFirstGame = TokenBitmaps.rasterized();
+        assertTrue(afterFirstGame > beforeFirstGame);
+
+        activity.findViewById(R.id.resetButton).performClick();
+        looper.idleFor(Duration.ofSeconds(4));
+        activity.findViewById(R.id.btnPlayFriend).performClick();
+        for (int frame = 0; activity.getEngine() == first; frame++) {
+            if (frame == MAX_FRAMES) throw new AssertionError("the second game did not start");
+            looper.idleFor(FRAME);
+        }
+        // Give the new game's board a few frames to draw its tokens.
+        looper.idleFor(FRAME.multipliedBy(4));
+        assertEquals(afterFirstGame, TokenBitmaps.rasterized());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.snakesandladders.benchmarks;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.GameRandom;
+import com.example.snakesandladders.engine.MarkovSolver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of producing a board: raw generation, and generation plus the exact difficulty score.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardGenerationBenchmark {
+
+    private BoardGenerator generator;
+    private MarkovSolver solver;
+    private GameRandom rand;
+
+    @Setup
+    public void setup() {
+        generator = new BoardGenerator();
+        solver = new MarkovSolver();
+        rand = new GameRandom(1);
+    }
+
+    @Benchmark
+    public Board generate() {
+        return generator.generate(rand);
+    }
+
+    @Benchmark
+    public double generateAndScore() {
+        return solver.expectedTurns(generator.generate(rand));
+    }
+}
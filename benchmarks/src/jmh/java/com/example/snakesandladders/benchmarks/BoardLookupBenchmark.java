@@ -0,0 +1,96 @@
+package com.example.snakesandladders.benchmarks;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.GameRandom;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Compares resolving a landing square through the flat Board against the old pair of boxed maps.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardLookupBenchmark {
+
+    private static final int LANDINGS = 1024;
+
+    private Board board;
+    private Map<Integer, Integer> snakes;
+    private Map<Integer, Integer> ladders;
+    private int[] landings;
+
+    @Setup
+    public void setup() {
+        GameRandom rand = new GameRandom(1);
+        board = new BoardGenerator().generate(rand);
+        snakes = new HashMap<>();
+        ladders = new HashMap<>();
+        for (int square = 1; square <= board.total(); square++) {
+            if (board.isLadder(square)) ladders.put(square, board.destination(square));
+            if (board.isSnake(square)) snakes.put(square, board.destination(square));
+        }
+        landings = new int[LANDINGS];
+        for (int i = 0; i < LANDINGS; i++) landings[i] = rand.nextInt(board.total()) + 1;
+    }
+
+    // Mirrors the old movePlayerAndCheck: one lookup per map, boxing the square each time.
+    @Benchmark
+    public int hashMaps() {
+        int sum = 0;
+        for (int landing : landings) {
+            Integer ladderDest = ladders.get(landing);
+            Integer snakeDest = snakes.get(landing);
+            if (ladderDest != null) {
+                sum += ladderDest;
+            } else if (snakeDest != null) {
+                sum += snakeDest;
+            } else {
+                sum += landing;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int jumpTable() {
+        int sum = 0;
+        for (int landing : landings) {
+            sum += board.destination(landing);
+        }
+        return sum;
+    }
+
+    // Rebuilding highlights: walks the occupied bitset instead of the map entry sets.
+    @Benchmark
+    public int occupiedScan() {
+        int sum = 0;
+        for (int square = board.nextOccupied(1); square != -1; square = board.nextOccupied(square + 1)) {
+            sum += square;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int mapEntryScan() {
+        int sum = 0;
+        for (Map.Entry<Integer, Integer> e : ladders.entrySet()) sum += e.getKey() + e.getValue();
+        for (Map.Entry<Integer, Integer> e : snakes.entrySet()) sum += e.getKey() + e.getValue();
+        return sum;
+    }
+}
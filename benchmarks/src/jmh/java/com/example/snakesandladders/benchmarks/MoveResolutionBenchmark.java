@@ -0,0 +1,73 @@
+package com.example.snakesandladders.benchmarks;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.GameEngine;
+import com.example.snakesandladders.engine.GameRandom;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Single move resolution and win detection, replaying a fixed roll sequence.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveResolutionBenchmark {
+
+    private static final int ROLLS = 4096;
+
+    private GameEngine engine;
+    private int[] rolls;
+    private int next;
+
+    @Setup
+    public void setup() {
+        GameRandom rand = new GameRandom(1);
+        Board board = new BoardGenerator().generate(rand);
+        rolls = new int[ROLLS];
+        for (int i = 0; i < ROLLS; i++) rolls[i] = rand.nextInt(6) + 1;
+        engine = new GameEngine(board, this::nextRoll, 2);
+    }
+
+    private int nextRoll() {
+        int roll = rolls[next];
+        next = (next + 1) & (ROLLS - 1);
+        return roll;
+    }
+
+    @Benchmark
+    public int move() {
+        if (engine.isOver()) engine.reset();
+        engine.move(nextRoll());
+        return engine.lastTo();
+    }
+
+    // The same move with the roll drawn through the engine's Dice, as the game screen plays it.
+    @Benchmark
+    public int step() {
+        if (engine.isOver()) engine.reset();
+        engine.step();
+        return engine.lastTo();
+    }
+
+    // A move followed by the checks the game screen makes before handing over the turn.
+    @Benchmark
+    public int moveAndDetectWin() {
+        if (engine.isOver()) engine.reset();
+        boolean won = engine.move(nextRoll());
+        return won && engine.isOver() ? engine.winner() : engine.currentSeat();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.snakesandladders.benchmarks;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.Dice;
+import com.example.snakesandladders.engine.GameEngine;
+import com.example.snakesandladders.engine.GameRandom;
+import com.example.snakesandladders.engine.SeededDice;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Full games from the first roll to a win, on a fixed board and on a fresh board per game.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayoutBenchmark {
+
+    @Param({"2", "4"})
+    public int players;
+
+    private BoardGenerator generator;
+    private GameRandom boardRand;
+    private Dice dice;
+    private GameEngine engine;
+
+    @Setup
+    public void setup() {
+        generator = new BoardGenerator();
+        boardRand = new GameRandom(1);
+        dice = new SeededDice(2);
+        engine = new GameEngine(generator.generate(boardRand), dice, players);
+    }
+
+    @Benchmark
+    public int playoutFixedBoard() {
+        engine.reset();
+        while (!engine.step()) {
+            // keep rolling
+        }
+        return engine.turnCount();
+    }
+
+    @Benchmark
+    public int playoutGeneratedBoard() {
+        Board board = generator.generate(boardRand);
+        GameEngine game = new GameEngine(board, dice, players);
+        while (!game.step()) {
+            // keep rolling
+        }
+        return game.turnCount();
+    }
+}
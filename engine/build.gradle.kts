@@ -0,0 +1,66 @@
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
+
+// Runs the Monte Carlo simulator, e.g. ./gradlew :engine:simulate -Pgames=1000000 -Pplayers=2
+tasks.register<JavaExec>("simulate") {
+    group = "application"
+    description = "Plays a batch of simulated games on generated boards and prints the statistics."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.snakesandladders.engine.sim.Simulate")
+    args(
+        providers.gradleProperty("games").getOrElse("1000000"),
+        providers.gradleProperty("players").getOrElse("2"),
+        providers.gradleProperty("seed").getOrElse(System.nanoTime().toString())
+    )
+}
+
+// Runs a round-robin league between the computer strategies, e.g.
+// ./gradlew :engine:tournament -Pboards=100 -PgamesPerBoard=1000 -Pvariant=CHOOSE_DIE -Pout=build/league.csv
+tasks.register<JavaExec>("tournament") {
+    group = "application"
+    description = "Plays a round-robin league between computer strategies and prints Elo ratings."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.snakesandladders.engine.tournament.RunTournament")
+    args(
+        providers.gradleProperty("boards").getOrElse("100"),
+        providers.gradleProperty("gamesPerBoard").getOrElse("1000"),
+        providers.gradleProperty("variant").getOrElse("CHOOSE_DIE"),
+        providers.gradleProperty("seed").getOrElse(System.nanoTime().toString()),
+        providers.gradleProperty("threads").getOrElse(Runtime.getRuntime().availableProcessors().toString()),
+        providers.gradleProperty("out").getOrElse("")
+    )
+}
+
+// Samples or enumerates boards, deduplicates them by fingerprint and summarizes their analyses, e.g.
+// ./gradlew :engine:survey -Pmode=sample -Pboards=100000 or ./gradlew :engine:survey -Pmode=enumerate -Ptotal=12
+tasks.register<JavaExec>("survey") {
+    group = "application"
+    description = "Sweeps generated or enumerated boards and reports distinct layouts, lengths and fairness."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.snakesandladders.engine.sim.SurveyBoards")
+    val mode = providers.gradleProperty("mode").getOrElse("sample")
+    if (mode == "enumerate") {
+        args(
+            mode,
+            providers.gradleProperty("total").getOrElse("12"),
+            providers.gradleProperty("maxFeatures").getOrElse("2")
+        )
+    } else {
+        args(
+            mode,
+            providers.gradleProperty("boards").getOrElse("100000"),
+            providers.gradleProperty("total").getOrElse("60"),
+            providers.gradleProperty("seed").getOrElse(System.nanoTime().toString())
+        )
+    }
+}
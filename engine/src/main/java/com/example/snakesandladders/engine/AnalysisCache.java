@@ -0,0 +1,63 @@
+package com.example.snakesandladders.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded, thread-safe memo of board analyses for one rule variant, keyed by Board.fingerprint().
+// A board seen before costs a hash lookup instead of a solve. Misses are solved outside the lock,
+// so several threads can solve at once; the least recently used analysis is evicted when full.
+public final class AnalysisCache {
+
+    private final RuleVariant variant;
+    private final Map<Long, BoardAnalysis> entries;
+    private long hits;
+    private long misses;
+
+    public AnalysisCache(int capacity, RuleVariant variant) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.variant = variant;
+        this.entries = new LinkedHashMap<Long, BoardAnalysis>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BoardAnalysis> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public RuleVariant variant() {
+        return variant;
+    }
+
+    // Returns the analysis of the board, solving it only if no board with the same layout is cached.
+    public BoardAnalysis analyze(Board board) {
+        Long key = board.fingerprint();
+        synchronized (this) {
+            BoardAnalysis cached = entries.get(key);
+            if (cached != null && cached.board().sameLayout(board)) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        BoardAnalysis fresh = BoardAnalysis.compute(board, variant);
+        synchronized (this) {
+            // Keep the first result if another thread solved the same layout meanwhile.
+            BoardAnalysis raced = entries.get(key);
+            if (raced != null && raced.board().sameLayout(board)) return raced;
+            entries.put(key, fresh);
+        }
+        return fresh;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+}
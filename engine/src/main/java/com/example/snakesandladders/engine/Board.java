@@ -0,0 +1,148 @@
+package com.example.snakesandladders.engine;
+
+// Immutable snakes and ladders layout stored as a flat jump table indexed by square, plus a
+// bitset of the squares a snake or ladder starts or ends on. This is the single representation
+// of a board shared by the game screen, the engine and the simulators.
+public final class Board {
+
+    public static final int START_SQUARE = 1;
+    public static final int MAX_TOTAL = 400;
+
+    private final int total;
+    private final int[] jumpTable;
+    private final long[] occupied;
+    private final long fingerprint;
+
+    // Creates a board from a jump table where jumpTable[square] is the square a token ends on.
+    public Board(int total, int[] jumpTable) {
+        if (total < 2) throw new IllegalArgumentException("Board needs at least 2 squares: " + total);
+        if (total > MAX_TOTAL) throw new IllegalArgumentException("Board has more than " + MAX_TOTAL + " squares: " + total);
+        if (jumpTable.length != total + 1) {
+            throw new IllegalArgumentException("Jump table must have " + (total + 1) + " entries: " + jumpTable.length);
+        }
+        if (jumpTable[total] != total) throw new IllegalArgumentException("The final square cannot jump");
+        for (int i = 1; i <= total; i++) {
+            if (jumpTable[i] < 1 || jumpTable[i] > total) {
+                throw new IllegalArgumentException("Square " + i + " jumps off the board: " + jumpTable[i]);
+            }
+        }
+        this.total = total;
+        this.jumpTable = jumpTable.clone();
+        this.jumpTable[0] = 0;
+        this.occupied = new long[(total >> 6) + 1];
+        for (int i = 1; i <= total; i++) {
+            int dest = this.jumpTable[i];
+            if (dest != i) {
+                occupied[i >> 6] |= 1L << i;
+                occupied[dest >> 6] |= 1L << dest;
+            }
+        }
+        this.fingerprint = fingerprintOf(total, this.jumpTable);
+    }
+
+    // Creates a board of the given size without snakes or ladders.
+    public static Board empty(int total) {
+        int[] table = new int[total + 1];
+        for (int i = 1; i <= total; i++) table[i] = i;
+        return new Board(total, table);
+    }
+
+    // Returns the number of the final square.
+    public int total() {
+        return total;
+    }
+
+    // Returns the square a token ends on after landing on the given square.
+    public int destination(int square) {
+        return jumpTable[square];
+    }
+
+    // Returns true if a ladder starts on the given square.
+    public boolean isLadder(int square) {
+        return jumpTable[square] > square;
+    }
+
+    // Returns true if a snake starts on the given square.
+    public boolean isSnake(int square) {
+        return jumpTable[square] < square;
+    }
+
+    // Returns true if a snake or ladder starts or ends on the given square.
+    public boolean isOccupied(int square) {
+        return (occupied[square >> 6] & (1L << square)) != 0;
+    }
+
+    // Returns the first occupied square at or after the given square, or -1 if there is none.
+    public int nextOccupied(int square) {
+        int word = square >> 6;
+        if (word >= occupied.length) return -1;
+        long bits = occupied[word] & (-1L << square);
+        while (true) {
+            if (bits != 0) return (word << 6) + Long.numberOfTrailingZeros(bits);
+            if (++word == occupied.length) return -1;
+            bits = occupied[word];
+        }
+    }
+
+    // Returns the number of ladders on the board.
+    public int ladderCount() {
+        int count = 0;
+        for (int i = 1; i <= total; i++) {
+            if (jumpTable[i] > i) count++;
+        }
+        return count;
+    }
+
+    // Returns the number of snakes on the board.
+    public int snakeCount() {
+        int count = 0;
+        for (int i = 1; i <= total; i++) {
+            if (jumpTable[i] < i) count++;
+        }
+        return count;
+    }
+
+    // Returns a 64-bit hash of the layout that play depends on: the size and every snake and ladder
+    // a move can land on. Tokens start on START_SQUARE without landing there, so a jump from it is
+    // left out and boards that differ only there share a fingerprint, as they share every analysis.
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    // Returns true if both boards play the same, i.e. the layouts fingerprint() covers are equal.
+    public boolean sameLayout(Board other) {
+        if (other == this) return true;
+        if (other.total != total || other.fingerprint != fingerprint) return false;
+        for (int i = START_SQUARE + 1; i <= total; i++) {
+            if (other.jumpTable[i] != jumpTable[i]) return false;
+        }
+        return true;
+    }
+
+    // Returns a copy of the jump table.
+    public int[] copyJumpTable() {
+        return jumpTable.clone();
+    }
+
+    // Gives engine classes direct access to the table for hot loops; callers must not modify it.
+    int[] jumps() {
+        return jumpTable;
+    }
+
+    // Folds the size and each (start, end) pair in square order through the SplitMix64 finalizer.
+    private static long fingerprintOf(int total, int[] jumpTable) {
+        long h = mix(total);
+        for (int i = START_SQUARE + 1; i <= total; i++) {
+            int dest = jumpTable[i];
+            if (dest != i) h = mix(h ^ ((long) i << 32 | dest));
+        }
+        return h;
+    }
+
+    private static long mix(long z) {
+        z += 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.snakesandladders.engine;
+
+// Everything solved about one board for one rule variant: the exact expected length of a solo
+// game, how often the first of two players wins a plain race, and the computer's policy.
+public final class BoardAnalysis {
+
+    // The finishing distribution is followed for this many times the expected length; what is
+    // left after that is a vanishing tail that is split evenly between the two players.
+    private static final int HORIZON_FACTOR = 16;
+    private static final int MIN_HORIZON = 64;
+
+    private final Board board;
+    private final double expectedTurns;
+    private final double firstPlayerWinChance;
+    private final PolicyTable policy;
+
+    private BoardAnalysis(Board board, double expectedTurns, double firstPlayerWinChance, PolicyTable policy) {
+        this.board = board;
+        this.expectedTurns = expectedTurns;
+        this.firstPlayerWinChance = firstPlayerWinChance;
+        this.policy = policy;
+    }
+
+    // Solves the board. Meant to run off the UI thread; AnalysisCache avoids repeating it.
+    public static BoardAnalysis compute(Board board, RuleVariant variant) {
+        // One solve serves both the expected length and the policy's starting values.
+        MarkovSolver solver = new MarkovSolver(board.total());
+        double[] turnsFromEach = new double[board.total() + 1];
+        solver.expectedTurnsFromEach(board, turnsFromEach);
+        double turns = turnsFromEach[Board.START_SQUARE];
+        double[] pmf = new double[Math.max(MIN_HORIZON, (int) Math.ceil(turns * HORIZON_FACTOR)) + 1];
+        double tail = solver.finishingDistribution(board, pmf);
+
+        // The first player wins on turn t if the second has not finished in its first t - 1 turns.
+        double secondRunning = 1;
+        double firstWins = 0;
+        for (int t = 1; t < pmf.length; t++) {
+            firstWins += pmf[t] * secondRunning;
+            secondRunning -= pmf[t];
+        }
+        firstWins += 0.5 * tail * tail;
+        return new BoardAnalysis(board, turns, firstWins,
+                PolicyTable.fromPlainExpectedTurns(board, variant, turnsFromEach));
+    }
+
+    public Board board() {
+        return board;
+    }
+
+    // Returns the exact expected number of turns for a single player to finish with plain rolls.
+    public double expectedTurns() {
+        return expectedTurns;
+    }
+
+    // Returns the chance that the first of two players wins with plain rolls; 0.5 is a fair board.
+    public double firstPlayerWinChance() {
+        return firstPlayerWinChance;
+    }
+
+    // Returns the solved decisions for the variant the analysis was made for.
+    public PolicyTable policy() {
+        return policy;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.snakesandladders.engine;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+// Bounded cache of generated and scored boards, grouped by difficulty bucket.
+// Boards are produced on the given executor; when the cache is full, a board is evicted from the
+// least recently requested bucket, so buckets callers actually use stay stocked. Each board is
+// analysed through an AnalysisCache, so its policy is ready when the game starts and a layout that
+// comes up again is not solved twice.
+public final class BoardCache {
+
+    private static final int SYNC_ATTEMPTS = 64;
+
+    private final BoardGenerator generator;
+    private final Executor executor;
+    private final GameRandom random;
+    private final AnalysisCache analyses;
+    private final int capacity;
+    private final double baselineTurns;
+    private final ArrayDeque<ScoredBoard>[] byDifficulty;
+    // Access-ordered view of the same buckets; iteration starts at the least recently requested one.
+    private final Map<Difficulty, ArrayDeque<ScoredBoard>> buckets = new LinkedHashMap<>(4, 0.75f, true);
+    private int size;
+    private boolean refillScheduled;
+
+    // The cache draws its boards from its own generator seeded with the given seed.
+    public BoardCache(BoardGenerator generator, int capacity, Executor executor, long seed) {
+        this(generator, capacity, executor, seed, RuleVariant.CLASSIC);
+    }
+
+    public BoardCache(BoardGenerator generator, int capacity, Executor executor, long seed, RuleVariant variant) {
+        this(generator, capacity, executor, seed, new AnalysisCache(capacity * 4, variant));
+    }
+
+    // Shares an analysis cache, and with it the cache's rule variant, with other users of the same boards.
+    public BoardCache(BoardGenerator generator, int capacity, Executor executor, long seed, AnalysisCache analyses) {
+        if (capacity < Difficulty.values().length) {
+            throw new IllegalArgumentException("Capacity must hold one board per difficulty: " + capacity);
+        }
+        this.generator = generator;
+        this.executor = executor;
+        this.random = new GameRandom(seed);
+        this.analyses = analyses;
+        this.capacity = capacity;
+        this.baselineTurns = new MarkovSolver(generator.total()).expectedTurns(Board.empty(generator.total()));
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArrayDeque<ScoredBoard>[] queues = new ArrayDeque[Difficulty.values().length];
+        this.byDifficulty = queues;
+        for (Difficulty d : Difficulty.values()) {
+            queues[d.ordinal()] = new ArrayDeque<>();
+            buckets.put(d, queues[d.ordinal()]);
+        }
+    }
+
+    // Starts filling the cache in the background.
+    public synchronized void prefill() {
+        scheduleRefill();
+    }
+
+    // Returns a board of the requested difficulty. Uses a cached board when one is ready, otherwise
+    // generates one inline and returns the closest match found within a bounded number of attempts.
+    public ScoredBoard take(Difficulty difficulty) {
+        ScoredBoard cached;
+        GameRandom inlineRandom;
+        synchronized (this) {
+            cached = buckets.get(difficulty).pollFirst();
+            if (cached != null) size--;
+            scheduleRefill();
+            inlineRandom = cached == null ? random.split() : null;
+        }
+        if (cached != null) return cached;
+
+        MarkovSolver inlineSolver = new MarkovSolver(generator.total());
+        ScoredBoard best = null;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < SYNC_ATTEMPTS && bestDistance > 0; i++) {
+            Board board = generator.generate(inlineRandom);
+            double turns = inlineSolver.expectedTurns(board);
+            double ratio = turns / baselineTurns;
+            double distance = difficulty.distance(ratio);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = new ScoredBoard(board, turns, Difficulty.ofRatio(ratio), null);
+            }
+        }
+        return new ScoredBoard(best.board(), best.expectedTurns(), best.difficulty(),
+                analyses.analyze(best.board()).policy());
+    }
+
+    // Returns the number of boards currently cached for the given difficulty.
+    public synchronized int available(Difficulty difficulty) {
+        return byDifficulty[difficulty.ordinal()].size();
+    }
+
+    private void scheduleRefill() {
+        if (refillScheduled || isFull()) return;
+        refillScheduled = true;
+        GameRandom refillRandom = random.split();
+        executor.execute(() -> refill(refillRandom));
+    }
+
+    // Generates boards until every bucket has a board and the cache is at capacity, or the budget runs out.
+    private void refill(GameRandom refillRandom) {
+        int budget = capacity * 32;
+        while (budget-- > 0) {
+            synchronized (this) {
+                if (isFull()) break;
+            }
+            BoardAnalysis analysis = analyses.analyze(generator.generate(refillRandom));
+            double turns = analysis.expectedTurns();
+            Difficulty difficulty = Difficulty.ofRatio(turns / baselineTurns);
+            add(new ScoredBoard(analysis.board(), turns, difficulty, analysis.policy()));
+        }
+        synchronized (this) {
+            refillScheduled = false;
+        }
+    }
+
+    private synchronized void add(ScoredBoard scored) {
+        // Insert without touching the bucket's recency; only take() counts as use.
+        ArrayDeque<ScoredBoard> target = byDifficulty[scored.difficulty().ordinal()];
+        target.addLast(scored);
+        size++;
+        if (size > capacity) evict(target);
+    }
+
+    // Drops the oldest board of the least recently requested bucket that can spare one.
+    private void evict(ArrayDeque<ScoredBoard> justFilled) {
+        Iterator<ArrayDeque<ScoredBoard>> it = buckets.values().iterator();
+        while (it.hasNext()) {
+            ArrayDeque<ScoredBoard> bucket = it.next();
+            if (bucket.size() > 1) {
+                bucket.pollFirst();
+                size--;
+                return;
+            }
+        }
+        justFilled.pollFirst();
+        size--;
+    }
+
+    private boolean isFull() {
+        if (size < capacity) return false;
+        for (ArrayDeque<ScoredBoard> bucket : buckets.values()) {
+            if (bucket.isEmpty()) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.snakesandladders.engine;
+
+// Randomly places snakes and ladders using the rules of the original game screen.
+public final class BoardGenerator {
+
+    public static final int DEFAULT_TOTAL = 60;
+    public static final int MIN_FEATURES = 2;
+    public static final int MAX_FEATURES = 5;
+    public static final int MIN_JUMP = 6;
+    public static final int MAX_JUMP = 18;
+    private static final int REJECTION_ATTEMPTS = 32;
+
+    private final int total;
+    private final int minFeatures;
+    private final int maxFeatures;
+
+    public BoardGenerator() {
+        this(DEFAULT_TOTAL);
+    }
+
+    public BoardGenerator(int total) {
+        if (total < 2 * MAX_JUMP) throw new IllegalArgumentException("Board too small for generation: " + total);
+        if (total > Board.MAX_TOTAL) throw new IllegalArgumentException("Board too large for generation: " + total);
+        this.total = total;
+        int scale = Math.max(1, total / DEFAULT_TOTAL);
+        this.minFeatures = MIN_FEATURES * scale;
+        this.maxFeatures = MAX_FEATURES * scale;
+    }
+
+    // Returns the number of the final square on generated boards.
+    public int total() {
+        return total;
+    }
+
+    // Generates a board with 2-5 ladders and 2-5 snakes per 60 squares, all on distinct squares,
+    // that can always be finished from every square.
+    // Each feature is drawn uniformly from the valid (start, end) pairs: a few cheap rejection
+    // tries first, then an exact pick from the enumerated pairs, so generation always terminates.
+    public Board generate(GameRandom rand) {
+        int[] table = new int[total + 1];
+        for (int i = 1; i <= total; i++) table[i] = i;
+        boolean[] used = new boolean[total + 1];
+
+        int targetLadders = minFeatures + rand.nextInt(maxFeatures - minFeatures + 1);
+        for (int i = 0; i < targetLadders; i++) {
+            placeFeature(table, used, rand, true);
+        }
+
+        int targetSnakes = minFeatures + rand.nextInt(maxFeatures - minFeatures + 1);
+        for (int i = 0; i < targetSnakes; i++) {
+            placeFeature(table, used, rand, false);
+        }
+        return new Board(total, table);
+    }
+
+    // Places one ladder or snake on unused squares, if any valid pair is left.
+    private void placeFeature(int[] table, boolean[] used, GameRandom rand, boolean ladder) {
+        int firstStart = ladder ? 2 : 10;
+        int jumpRange = MAX_JUMP - MIN_JUMP + 1;
+        for (int attempt = 0; attempt < REJECTION_ATTEMPTS; attempt++) {
+            int start = rand.nextInt(total - 10) + firstStart;
+            int jump = rand.nextInt(jumpRange) + MIN_JUMP;
+            int end = ladder ? start + jump : start - jump;
+            if (isFree(table, used, start, end, ladder)) {
+                mark(table, used, start, end);
+                return;
+            }
+        }
+
+        int count = 0;
+        for (int start = firstStart; start < firstStart + total - 10; start++) {
+            for (int jump = MIN_JUMP; jump <= MAX_JUMP; jump++) {
+                if (isFree(table, used, start, ladder ? start + jump : start - jump, ladder)) count++;
+            }
+        }
+        if (count == 0) return;
+        int pick = rand.nextInt(count);
+        for (int start = firstStart; start < firstStart + total - 10; start++) {
+            for (int jump = MIN_JUMP; jump <= MAX_JUMP; jump++) {
+                int end = ladder ? start + jump : start - jump;
+                if (isFree(table, used, start, end, ladder) && pick-- == 0) {
+                    mark(table, used, start, end);
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean isFree(int[] table, boolean[] used, int start, int end, boolean ladder) {
+        if (ladder ? end >= total : end <= 1) return false;
+        if (used[start] || used[end]) return false;
+        return ladder || snakeRunThrough(table, start) < Dice.FACES;
+    }
+
+    // Returns the length of the run of consecutive snake starts a new snake at start would join.
+    // A full roll's worth of them in a row can be impossible to pass, so generation keeps runs shorter.
+    private int snakeRunThrough(int[] table, int start) {
+        int low = start;
+        while (low > 1 && table[low - 1] < low - 1) low--;
+        int high = start;
+        while (high < total && table[high + 1] < high + 1) high++;
+        return high - low + 1;
+    }
+
+    private static void mark(int[] table, boolean[] used, int start, int end) {
+        table[start] = end;
+        used[start] = true;
+        used[end] = true;
+    }
+}
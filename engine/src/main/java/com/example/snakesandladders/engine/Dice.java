@@ -0,0 +1,10 @@
+package com.example.snakesandladders.engine;
+
+// Source of dice rolls for a game.
+public interface Dice {
+
+    int FACES = 6;
+
+    // Returns a roll between 1 and FACES.
+    int roll();
+}
@@ -0,0 +1,30 @@
+package com.example.snakesandladders.engine;
+
+// Difficulty bucket of a board, based on its expected game length relative to an empty board.
+public enum Difficulty {
+    SHORT(0, 0.95),
+    NORMAL(0.95, 1.15),
+    LONG(1.15, Double.POSITIVE_INFINITY);
+
+    private final double minRatio;
+    private final double maxRatio;
+
+    Difficulty(double minRatio, double maxRatio) {
+        this.minRatio = minRatio;
+        this.maxRatio = maxRatio;
+    }
+
+    // Returns the bucket for a board whose expected turns are the given multiple of an empty board's.
+    public static Difficulty ofRatio(double ratio) {
+        if (ratio < SHORT.maxRatio) return SHORT;
+        if (ratio < NORMAL.maxRatio) return NORMAL;
+        return LONG;
+    }
+
+    // Returns how far the given ratio lies outside this bucket, or 0 if it is inside.
+    double distance(double ratio) {
+        if (ratio < minRatio) return minRatio - ratio;
+        if (ratio >= maxRatio) return ratio - maxRatio;
+        return 0;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.snakesandladders.engine;
+
+// Plays a game of snakes and ladders without any UI; step() does not allocate.
+// Player state is kept as parallel arrays indexed by seat, so a move costs the same for any player count.
+public final class GameEngine {
+
+    public static final int NO_WINNER = -1;
+    public static final int MAX_PLAYERS = 8;
+
+    private final Board board;
+    private final int[] jumps;
+    private final int total;
+    private final Dice dice;
+    private final int[] positions;
+
+    private int currentSeat;
+    private int winner = NO_WINNER;
+    private int turnCount;
+
+    private int lastSeat = -1;
+    private int lastRoll;
+    private int lastFrom;
+    private int lastLanding;
+    private int lastTo;
+
+    public GameEngine(Board board, Dice dice, int players) {
+        if (players < 1 || players > MAX_PLAYERS) {
+            throw new IllegalArgumentException("A game takes 1 to " + MAX_PLAYERS + " players: " + players);
+        }
+        this.board = board;
+        this.jumps = board.jumps();
+        this.total = board.total();
+        this.dice = dice;
+        this.positions = new int[players];
+        reset();
+    }
+
+    // Puts every player back on the first square.
+    public void reset() {
+        for (int i = 0; i < positions.length; i++) positions[i] = Board.START_SQUARE;
+        currentSeat = 0;
+        winner = NO_WINNER;
+        turnCount = 0;
+        lastSeat = -1;
+        lastRoll = 0;
+        lastFrom = 0;
+        lastLanding = 0;
+        lastTo = 0;
+    }
+
+    // Restores a saved position; used by GameSnapshot.
+    void restoreState(int[] savedPositions, int savedSeat, int savedWinner, int savedTurnCount) {
+        System.arraycopy(savedPositions, 0, positions, 0, positions.length);
+        currentSeat = savedSeat;
+        winner = savedWinner;
+        turnCount = savedTurnCount;
+        lastSeat = -1;
+        lastRoll = 0;
+        lastFrom = 0;
+        lastLanding = 0;
+        lastTo = 0;
+    }
+
+    // Rolls the dice for the current player and applies the move. Returns true if the move won the game.
+    public boolean step() {
+        return move(dice.roll());
+    }
+
+    // Plays one turn under a rule variant, letting the strategy make the current player's decision.
+    public boolean step(RuleVariant variant, Strategy strategy) {
+        int position = positions[currentSeat];
+        int roll = dice.roll();
+        if (variant == RuleVariant.CHOOSE_DIE) {
+            roll = strategy.chooseDie(position, roll, dice.roll());
+        } else if (variant == RuleVariant.REROLL_ONCE && strategy.reroll(position, roll)) {
+            roll = dice.roll();
+        }
+        return move(roll);
+    }
+
+    // Moves the current player by the given roll. A move stops on the final square, then follows any snake or ladder.
+    // Throws IllegalArgumentException for a roll outside 1..Dice.FACES.
+    public boolean move(int roll) {
+        if (roll < 1 || roll > Dice.FACES) throw new IllegalArgumentException("A roll is 1 to " + Dice.FACES + ": " + roll);
+        if (winner != NO_WINNER) throw new IllegalStateException("The game is already over");
+        int seat = currentSeat;
+        int from = positions[seat];
+        int landing = from + roll;
+        if (landing > total) landing = total;
+        int to = jumps[landing];
+        positions[seat] = to;
+
+        lastSeat = seat;
+        lastRoll = roll;
+        lastFrom = from;
+        lastLanding = landing;
+        lastTo = to;
+        turnCount++;
+
+        if (to == total) {
+            winner = seat;
+            return true;
+        }
+        currentSeat = seat + 1 == positions.length ? 0 : seat + 1;
+        return false;
+    }
+
+    public Board board() {
+        return board;
+    }
+
+    public Dice dice() {
+        return dice;
+    }
+
+    public int playerCount() {
+        return positions.length;
+    }
+
+    public int position(int seat) {
+        return positions[seat];
+    }
+
+    // Returns the seat whose turn is next.
+    public int currentSeat() {
+        return currentSeat;
+    }
+
+    public boolean isOver() {
+        return winner != NO_WINNER;
+    }
+
+    // Returns the winning seat, or NO_WINNER while the game is running.
+    public int winner() {
+        return winner;
+    }
+
+    // Returns the number of moves played since the last reset.
+    public int turnCount() {
+        return turnCount;
+    }
+
+    // Returns the seat that made the last move, or -1 before the first move.
+    public int lastSeat() {
+        return lastSeat;
+    }
+
+    public int lastRoll() {
+        return lastRoll;
+    }
+
+    public int lastFrom() {
+        return lastFrom;
+    }
+
+    // Returns the square the last move stopped on before following a snake or ladder.
+    public int lastLanding() {
+        return lastLanding;
+    }
+
+    public int lastTo() {
+        return lastTo;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.snakesandladders.engine;
+
+// Fast seedable random source (SplitMix64) with its whole state in one long.
+// Not thread-safe: give each thread or subtask its own instance via split(), which keeps a
+// seeded run reproducible bit for bit however the work is sharded.
+public final class GameRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    // Recreates a generator from a value returned by state().
+    public static GameRandom fromState(long state) {
+        return new GameRandom(state);
+    }
+
+    // Returns the current state; a generator rebuilt from it continues the same sequence.
+    public long state() {
+        return state;
+    }
+
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    // Returns a uniformly distributed value in [0, bound).
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("Bound must be positive: " + bound);
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) return r & m;
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+            // reject values from the incomplete last range
+        }
+        return r;
+    }
+
+    // Returns a new generator seeded from this one; the two sequences are statistically independent.
+    public GameRandom split() {
+        return new GameRandom(nextLong());
+    }
+}
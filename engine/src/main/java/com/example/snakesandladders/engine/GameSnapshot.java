@@ -0,0 +1,142 @@
+package com.example.snakesandladders.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Compact fixed-layout binary image of a game: board, positions, turn and dice state.
+// Layout (little endian): magic int, version byte, players byte, current seat byte, winner byte,
+// total short, turn count int, dice state long, positions short[players], jump table short[total + 1].
+// Restoring needs no board generation and no replaying of earlier rolls.
+public final class GameSnapshot {
+
+    public static final int MAGIC = 0x534E4C53; // "SNLS"
+    public static final byte VERSION = 2;
+    private static final int HEADER_BYTES = 4 + 1 + 1 + 1 + 1 + 2 + 4 + 8;
+
+    private final Board board;
+    private final int[] positions;
+    private final int currentSeat;
+    private final int winner;
+    private final int turnCount;
+    private final long diceState;
+
+    private GameSnapshot(Board board, int[] positions, int currentSeat, int winner, int turnCount,
+                         long diceState) {
+        this.board = board;
+        this.positions = positions;
+        this.currentSeat = currentSeat;
+        this.winner = winner;
+        this.turnCount = turnCount;
+        this.diceState = diceState;
+    }
+
+    // Captures the state of a game whose dice is a SeededDice.
+    public static GameSnapshot of(GameEngine engine) {
+        if (!(engine.dice() instanceof SeededDice)) {
+            throw new IllegalArgumentException("Only games with seeded dice can be saved");
+        }
+        SeededDice dice = (SeededDice) engine.dice();
+        int[] positions = new int[engine.playerCount()];
+        for (int seat = 0; seat < positions.length; seat++) positions[seat] = engine.position(seat);
+        return new GameSnapshot(engine.board(), positions, engine.currentSeat(), engine.winner(),
+                engine.turnCount(), dice.state());
+    }
+
+    // Returns the encoded size of a snapshot for the given board size and player count.
+    public static int sizeInBytes(int total, int players) {
+        return HEADER_BYTES + 2 * players + 2 * (total + 1);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(sizeInBytes(board.total(), positions.length));
+        writeTo(buffer);
+        return buffer.array();
+    }
+
+    // Writes the snapshot at the buffer's position.
+    public void writeTo(ByteBuffer buffer) {
+        int[] jumps = board.jumps();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC)
+              .put(VERSION)
+              .put((byte) positions.length)
+              .put((byte) currentSeat)
+              .put((byte) winner)
+              .putShort((short) board.total())
+              .putInt(turnCount)
+              .putLong(diceState);
+        for (int position : positions) buffer.putShort((short) position);
+        for (int jump : jumps) buffer.putShort((short) jump);
+    }
+
+    public static GameSnapshot fromBytes(byte[] bytes) {
+        return readFrom(ByteBuffer.wrap(bytes));
+    }
+
+    // Reads a snapshot at the buffer's position, checking every field as it goes.
+    // Throws IllegalArgumentException on truncated or corrupt data.
+    public static GameSnapshot readFrom(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_BYTES) throw new IllegalArgumentException("Truncated snapshot header");
+        if (buffer.getInt() != MAGIC) throw new IllegalArgumentException("Not a game snapshot");
+        byte version = buffer.get();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+        int players = buffer.get() & 0xFF;
+        if (players < 1 || players > GameEngine.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Snapshot has " + players + " players");
+        }
+        int currentSeat = buffer.get();
+        if (currentSeat < 0 || currentSeat >= players) {
+            throw new IllegalArgumentException("Snapshot seat out of range: " + currentSeat);
+        }
+        int winner = buffer.get();
+        if (winner != GameEngine.NO_WINNER && (winner < 0 || winner >= players)) {
+            throw new IllegalArgumentException("Snapshot winner out of range: " + winner);
+        }
+        int total = buffer.getShort() & 0xFFFF;
+        if (total < 2 || total > Board.MAX_TOTAL) throw new IllegalArgumentException("Snapshot board size: " + total);
+        int turnCount = buffer.getInt();
+        if (turnCount < 0) throw new IllegalArgumentException("Snapshot turn count: " + turnCount);
+        long diceState = buffer.getLong();
+        if (buffer.remaining() < sizeInBytes(total, players) - HEADER_BYTES) {
+            throw new IllegalArgumentException("Truncated snapshot body");
+        }
+        int[] positions = new int[players];
+        for (int seat = 0; seat < players; seat++) {
+            positions[seat] = buffer.getShort() & 0xFFFF;
+            if (positions[seat] < Board.START_SQUARE || positions[seat] > total) {
+                throw new IllegalArgumentException("Seat " + seat + " is off the board: " + positions[seat]);
+            }
+        }
+        int[] table = new int[total + 1];
+        for (int square = 0; square <= total; square++) table[square] = buffer.getShort() & 0xFFFF;
+        return new GameSnapshot(new Board(total, table), positions, currentSeat, winner, turnCount, diceState);
+    }
+
+    // Rebuilds a running game from this snapshot, with the dice resumed where it left off.
+    public GameEngine restore() {
+        GameEngine engine = new GameEngine(board, SeededDice.fromState(diceState), positions.length);
+        engine.restoreState(positions, currentSeat, winner, turnCount);
+        return engine;
+    }
+
+    public Board board() {
+        return board;
+    }
+
+    public int players() {
+        return positions.length;
+    }
+
+    public int currentSeat() {
+        return currentSeat;
+    }
+
+    public int turnCount() {
+        return turnCount;
+    }
+
+    public long diceState() {
+        return diceState;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.snakesandladders.engine;
+
+import java.util.Arrays;
+
+// Computes exact single-player game lengths from the absorbing Markov chain of a board.
+// Each turn moves min(square + roll, total) and then follows the jump table, so the final
+// square is the only absorbing state. Instances reuse their workspace and are not thread-safe.
+public final class MarkovSolver {
+
+    private static final double ROLL_PROBABILITY = 1.0 / Dice.FACES;
+    // Pivots of a solvable board stay well above this; below it the system is treated as singular.
+    private static final double MIN_PIVOT = 1e-12;
+
+    private final int maxTotal;
+    private final double[] matrix;
+    private final double[] rhs;
+    private double[] current;
+    private double[] next;
+
+    public MarkovSolver() {
+        this(BoardGenerator.DEFAULT_TOTAL);
+    }
+
+    // Creates a solver for boards with up to maxTotal squares.
+    public MarkovSolver(int maxTotal) {
+        this.maxTotal = maxTotal;
+        int n = maxTotal - 1;
+        this.matrix = new double[n * n];
+        this.rhs = new double[n];
+        this.current = new double[maxTotal + 1];
+        this.next = new double[maxTotal + 1];
+    }
+
+    // Returns true if the final square can be reached from every square. A board without this has a
+    // trap: a set of squares whose every roll leads back into it through snakes, so expected lengths
+    // are infinite and expectedTurns() and expectedTurnsFromEach() reject it.
+    public static boolean canFinishFromEverySquare(Board board) {
+        int total = board.total();
+        int[] jumps = board.jumps();
+        boolean[] canFinish = new boolean[total + 1];
+        canFinish[total] = true;
+        int left = total - 1;
+        // Ladders lead upwards and snakes downwards, so sweep until nothing changes.
+        boolean changed = true;
+        while (changed && left > 0) {
+            changed = false;
+            for (int s = total - 1; s >= 1; s--) {
+                if (canFinish[s]) continue;
+                for (int roll = 1; roll <= Dice.FACES; roll++) {
+                    int landing = s + roll;
+                    if (canFinish[jumps[landing > total ? total : landing]]) {
+                        canFinish[s] = true;
+                        left--;
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return left == 0;
+    }
+
+    // Returns the exact expected number of turns for one player to reach the final square from the start.
+    // Throws IllegalArgumentException for a board with a trap, see canFinishFromEverySquare().
+    public double expectedTurns(Board board) {
+        solve(board);
+        return rhs[Board.START_SQUARE - 1];
+    }
+
+    // Fills out[square] with the expected number of turns left from every square; out[total] is 0.
+    public void expectedTurnsFromEach(Board board, double[] out) {
+        solve(board);
+        int total = board.total();
+        out[0] = 0;
+        System.arraycopy(rhs, 0, out, 1, total - 1);
+        out[total] = 0;
+    }
+
+    // Fills pmf[t] with the probability that one player finishes on exactly turn t, for t < pmf.length.
+    // Returns the probability that the game is still running after pmf.length - 1 turns.
+    public double finishingDistribution(Board board, double[] pmf) {
+        int total = checkSize(board);
+        int[] jumps = board.jumps();
+        double[] cur = current;
+        double[] nxt = next;
+        Arrays.fill(cur, 0, total + 1, 0);
+        cur[Board.START_SQUARE] = 1;
+        double running = 1;
+        if (pmf.length > 0) pmf[0] = 0;
+
+        for (int t = 1; t < pmf.length; t++) {
+            Arrays.fill(nxt, 0, total + 1, 0);
+            for (int s = 1; s < total; s++) {
+                double p = cur[s];
+                if (p == 0) continue;
+                p *= ROLL_PROBABILITY;
+                for (int roll = 1; roll <= Dice.FACES; roll++) {
+                    int landing = s + roll;
+                    if (landing > total) landing = total;
+                    nxt[jumps[landing]] += p;
+                }
+            }
+            double finished = nxt[total];
+            pmf[t] = finished;
+            running -= finished;
+            nxt[total] = 0;
+            double[] swap = cur;
+            cur = nxt;
+            nxt = swap;
+        }
+        return running < 0 ? 0 : running;
+    }
+
+    // Builds (I - Q) t = 1 over the transient squares 1..total-1 and solves it in place into rhs.
+    private void solve(Board board) {
+        int total = checkSize(board);
+        if (!canFinishFromEverySquare(board)) {
+            throw new IllegalArgumentException("Some squares can never reach the final square");
+        }
+        int[] jumps = board.jumps();
+        int n = total - 1;
+        double[] a = matrix;
+        Arrays.fill(a, 0, n * n, 0);
+
+        for (int s = 1; s < total; s++) {
+            int row = (s - 1) * n;
+            a[row + s - 1] = 1;
+            rhs[s - 1] = 1;
+            for (int roll = 1; roll <= Dice.FACES; roll++) {
+                int landing = s + roll;
+                if (landing > total) landing = total;
+                int dest = jumps[landing];
+                if (dest != total) a[row + dest - 1] -= ROLL_PROBABILITY;
+            }
+        }
+
+        // I - Q is only weakly diagonally dominant: each row's off-diagonal sum is at most its
+        // diagonal. When every square can reach the final square the matrix is nonsingular and
+        // elimination without pivoting keeps the pivots positive; a vanishing pivot means it is not.
+        for (int k = 0; k < n; k++) {
+            int pivotRow = k * n;
+            double pivot = a[pivotRow + k];
+            if (pivot < MIN_PIVOT) throw new IllegalArgumentException("Board cannot be solved: pivot " + pivot);
+            for (int i = k + 1; i < n; i++) {
+                int row = i * n;
+                double factor = a[row + k];
+                if (factor == 0) continue;
+                factor /= pivot;
+                a[row + k] = 0;
+                for (int j = k + 1; j < n; j++) {
+                    a[row + j] -= factor * a[pivotRow + j];
+                }
+                rhs[i] -= factor * rhs[k];
+            }
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int row = i * n;
+            double sum = rhs[i];
+            for (int j = i + 1; j < n; j++) {
+                sum -= a[row + j] * rhs[j];
+            }
+            rhs[i] = sum / a[row + i];
+        }
+    }
+
+    private int checkSize(Board board) {
+        int total = board.total();
+        if (total > maxTotal) {
+            throw new IllegalArgumentException("Solver sized for " + maxTotal + " squares, board has " + total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.snakesandladders.engine;
+
+// Optimal decisions for one board and rule variant, found by value iteration on the expected
+// number of turns left from every square. Decisions are stored in flat byte tables, so each
+// one is a single array read. Minimizing expected turns is a close stand-in for maximizing the
+// chance of winning a race, and it keeps the tables independent of the other players.
+public final class PolicyTable implements Strategy {
+
+    private static final double TOLERANCE = 1e-9;
+    private static final int MAX_SWEEPS = 10_000;
+    private static final int FACES = Dice.FACES;
+
+    private final RuleVariant variant;
+    private final double[] expectedTurns;
+    // CHOOSE_DIE: 1 at [square * 36 + (first - 1) * 6 + second - 1] when the second die is better.
+    private final byte[] takeSecond;
+    // REROLL_ONCE: 1 at [square * 6 + roll - 1] when re-rolling is better.
+    private final byte[] reroll;
+
+    private PolicyTable(RuleVariant variant, double[] expectedTurns, byte[] takeSecond, byte[] reroll) {
+        this.variant = variant;
+        this.expectedTurns = expectedTurns;
+        this.takeSecond = takeSecond;
+        this.reroll = reroll;
+    }
+
+    // Solves the board for the given variant. Meant to run off the UI thread when the board is made.
+    public static PolicyTable compute(Board board, RuleVariant variant) {
+        double[] v = new double[board.total() + 1];
+        new MarkovSolver(board.total()).expectedTurnsFromEach(board, v);
+        return fromPlainExpectedTurns(board, variant, v);
+    }
+
+    // Builds the table from the expected turns left from every square with plain rolls, as filled in
+    // by MarkovSolver.expectedTurnsFromEach(). Takes over v, which value iteration updates in place.
+    static PolicyTable fromPlainExpectedTurns(Board board, RuleVariant variant, double[] v) {
+        int total = board.total();
+        int[] jumps = board.jumps();
+        if (variant == RuleVariant.CLASSIC) return new PolicyTable(variant, v, null, null);
+
+        double[] after = new double[FACES + 1];
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            double maxChange = 0;
+            for (int s = total - 1; s >= 1; s--) {
+                for (int r = 1; r <= FACES; r++) after[r] = v[dest(jumps, total, s, r)];
+                double next = 1 + (variant == RuleVariant.CHOOSE_DIE ? bestOfTwo(after) : withReroll(after));
+                double change = Math.abs(next - v[s]);
+                if (change > maxChange) maxChange = change;
+                v[s] = next;
+            }
+            if (maxChange < TOLERANCE) break;
+        }
+
+        byte[] takeSecond = null;
+        byte[] reroll = null;
+        if (variant == RuleVariant.CHOOSE_DIE) {
+            takeSecond = new byte[(total + 1) * FACES * FACES];
+            for (int s = 1; s < total; s++) {
+                for (int a = 1; a <= FACES; a++) {
+                    for (int b = 1; b <= FACES; b++) {
+                        if (v[dest(jumps, total, s, b)] < v[dest(jumps, total, s, a)]) {
+                            takeSecond[s * FACES * FACES + (a - 1) * FACES + b - 1] = 1;
+                        }
+                    }
+                }
+            }
+        } else {
+            reroll = new byte[(total + 1) * FACES];
+            for (int s = 1; s < total; s++) {
+                double fresh = 0;
+                for (int r = 1; r <= FACES; r++) fresh += v[dest(jumps, total, s, r)];
+                fresh /= FACES;
+                for (int r = 1; r <= FACES; r++) {
+                    if (fresh < v[dest(jumps, total, s, r)]) reroll[s * FACES + r - 1] = 1;
+                }
+            }
+        }
+        return new PolicyTable(variant, v, takeSecond, reroll);
+    }
+
+    private static int dest(int[] jumps, int total, int square, int roll) {
+        int landing = square + roll;
+        return jumps[landing > total ? total : landing];
+    }
+
+    // Expected value of the better of two independent dice.
+    private static double bestOfTwo(double[] after) {
+        double sum = 0;
+        for (int a = 1; a <= FACES; a++) {
+            for (int b = 1; b <= FACES; b++) sum += Math.min(after[a], after[b]);
+        }
+        return sum / (FACES * FACES);
+    }
+
+    // Expected value when a roll can be traded once for a fresh one.
+    private static double withReroll(double[] after) {
+        double fresh = 0;
+        for (int r = 1; r <= FACES; r++) fresh += after[r];
+        fresh /= FACES;
+        double sum = 0;
+        for (int r = 1; r <= FACES; r++) sum += Math.min(after[r], fresh);
+        return sum / FACES;
+    }
+
+    public RuleVariant variant() {
+        return variant;
+    }
+
+    // Returns the expected number of turns left from a square when playing this policy.
+    public double expectedTurns(int square) {
+        return expectedTurns[square];
+    }
+
+    @Override
+    public int chooseDie(int position, int first, int second) {
+        if (takeSecond == null) return first;
+        return takeSecond[position * FACES * FACES + (first - 1) * FACES + second - 1] != 0 ? second : first;
+    }
+
+    @Override
+    public boolean reroll(int position, int roll) {
+        return reroll != null && reroll[position * FACES + roll - 1] != 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.snakesandladders.engine;
+
+// The original computer behavior: takes whatever the dice give and never re-rolls.
+public final class RandomRollStrategy implements Strategy {
+
+    public static final RandomRollStrategy INSTANCE = new RandomRollStrategy();
+
+    private RandomRollStrategy() {
+    }
+
+    @Override
+    public int chooseDie(int position, int first, int second) {
+        return first;
+    }
+
+    @Override
+    public boolean reroll(int position, int roll) {
+        return false;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.snakesandladders.engine;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Append-only log of one game: a snapshot of the starting state followed by one byte per roll.
+// Replaying the rolls on the starting snapshot reproduces the game move for move.
+public final class ReplayLog {
+
+    private ReplayLog() {
+    }
+
+    // Buffered writer; rolls are kept in memory until the buffer fills or flush() is called.
+    public static final class Writer implements Closeable {
+        private static final int BUFFER_BYTES = 4096;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        private Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        // Starts a new log in the given file, replacing any previous log there.
+        public Writer(File file, GameSnapshot start) throws IOException {
+            this.channel = new FileOutputStream(file, false).getChannel();
+            try {
+                ByteBuffer header = ByteBuffer.allocate(GameSnapshot.sizeInBytes(start.board().total(), start.players()));
+                start.writeTo(header);
+                header.flip();
+                while (header.hasRemaining()) channel.write(header);
+            } catch (IOException | RuntimeException e) {
+                // The caller never gets a Writer to close, so close the file here.
+                try {
+                    channel.close();
+                } catch (IOException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+                throw e;
+            }
+        }
+
+        // Reopens the log of a game restored from the given snapshot so further rolls are appended.
+        // Rolls logged after that snapshot was taken are dropped, so the log replays to the restored state.
+        public static Writer resume(File file, GameSnapshot restored) throws IOException {
+            if (!file.isFile()) throw new IOException("No replay log at " + file);
+            Replay replay = read(file);
+            GameSnapshot start = replay.start();
+            int rollCount = restored.turnCount() - start.turnCount();
+            if (!start.board().sameLayout(restored.board()) || rollCount < 0 || rollCount > replay.rollCount()) {
+                throw new IOException("Replay log at " + file + " does not lead to the restored game");
+            }
+            long keep = GameSnapshot.sizeInBytes(start.board().total(), start.players()) + rollCount;
+            FileChannel channel = new RandomAccessFile(file, "rw").getChannel();
+            try {
+                channel.truncate(keep);
+                channel.position(keep);
+            } catch (IOException e) {
+                try {
+                    channel.close();
+                } catch (IOException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+                throw e;
+            }
+            return new Writer(channel);
+        }
+
+        public void append(int roll) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.put((byte) roll);
+        }
+
+        // Writes buffered rolls to the file.
+        public void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // A logged game: its starting snapshot and every roll made since.
+    public static final class Replay {
+        private final GameSnapshot start;
+        private final byte[] rolls;
+
+        Replay(GameSnapshot start, byte[] rolls) {
+            this.start = start;
+            this.rolls = rolls;
+        }
+
+        public GameSnapshot start() {
+            return start;
+        }
+
+        public int rollCount() {
+            return rolls.length;
+        }
+
+        public int roll(int index) {
+            return rolls[index];
+        }
+
+        // Plays every logged roll from the start and returns the resulting game.
+        public GameEngine play() {
+            GameEngine engine = start.restore();
+            for (byte roll : rolls) {
+                if (engine.isOver()) break;
+                engine.move(roll);
+            }
+            return engine;
+        }
+    }
+
+    // Reads a log, rejecting a corrupt header or any roll outside 1..Dice.FACES with an IOException.
+    public static Replay read(File file) throws IOException {
+        try (FileChannel channel = new FileInputStream(file).getChannel()) {
+            ByteBuffer bytes = ByteBuffer.allocate((int) channel.size());
+            while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+                // keep reading until the whole file is in memory
+            }
+            bytes.flip();
+            GameSnapshot start;
+            try {
+                start = GameSnapshot.readFrom(bytes);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt replay log header in " + file, e);
+            }
+            byte[] rolls = new byte[bytes.remaining()];
+            bytes.get(rolls);
+            for (int i = 0; i < rolls.length; i++) {
+                if (rolls[i] < 1 || rolls[i] > Dice.FACES) {
+                    throw new IOException("Corrupt roll " + rolls[i] + " at index " + i + " in " + file);
+                }
+            }
+            return new Replay(start, rolls);
+        }
+    }
+}
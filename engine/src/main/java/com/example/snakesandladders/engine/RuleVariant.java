@@ -0,0 +1,11 @@
+package com.example.snakesandladders.engine;
+
+// Optional house rules that give a player a decision on each turn.
+public enum RuleVariant {
+    // Roll one die and move by it.
+    CLASSIC,
+    // Roll two dice and move by either one of them.
+    CHOOSE_DIE,
+    // Roll one die and optionally re-roll it once; the second roll must be taken.
+    REROLL_ONCE
+}
@@ -0,0 +1,35 @@
+package com.example.snakesandladders.engine;
+
+// A generated board together with its solved expected length, difficulty bucket and computer policy.
+public final class ScoredBoard {
+
+    private final Board board;
+    private final double expectedTurns;
+    private final Difficulty difficulty;
+    private final PolicyTable policy;
+
+    public ScoredBoard(Board board, double expectedTurns, Difficulty difficulty, PolicyTable policy) {
+        this.board = board;
+        this.expectedTurns = expectedTurns;
+        this.difficulty = difficulty;
+        this.policy = policy;
+    }
+
+    public Board board() {
+        return board;
+    }
+
+    // Returns the exact expected number of turns for a single player to finish.
+    public double expectedTurns() {
+        return expectedTurns;
+    }
+
+    public Difficulty difficulty() {
+        return difficulty;
+    }
+
+    // Returns the solved decisions for the cache's rule variant on this board.
+    public PolicyTable policy() {
+        return policy;
+    }
+}
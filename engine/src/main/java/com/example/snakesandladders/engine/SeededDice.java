@@ -0,0 +1,29 @@
+package com.example.snakesandladders.engine;
+
+// Six-sided die driven by a GameRandom; its state can be saved and restored in one long.
+public final class SeededDice implements Dice {
+
+    private final GameRandom random;
+
+    public SeededDice(long seed) {
+        this(new GameRandom(seed));
+    }
+
+    public SeededDice(GameRandom random) {
+        this.random = random;
+    }
+
+    // Recreates a die from a value returned by state(); it continues the same roll sequence.
+    public static SeededDice fromState(long state) {
+        return new SeededDice(GameRandom.fromState(state));
+    }
+
+    @Override
+    public int roll() {
+        return random.nextInt(FACES) + 1;
+    }
+
+    public long state() {
+        return random.state();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.snakesandladders.engine;
+
+// Decisions a player makes under the optional rule variants.
+public interface Strategy {
+
+    // Returns the die to move by when two dice were rolled from the given square.
+    int chooseDie(int position, int first, int second);
+
+    // Returns true to re-roll the given roll from the given square.
+    boolean reroll(int position, int roll);
+}
@@ -0,0 +1,265 @@
+package com.example.snakesandladders.engine.sim;
+
+import com.example.snakesandladders.engine.AnalysisCache;
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.BoardAnalysis;
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.GameRandom;
+import com.example.snakesandladders.engine.MarkovSolver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Sweeps the board space in parallel, either by sampling the generator or by enumerating every
+// layout of a small board, and deduplicates the boards by fingerprint. Every board is analysed
+// through the shared AnalysisCache, so a layout that comes up again costs a lookup, not a solve.
+public final class BoardSurvey {
+
+    // About 20 MB of recent fingerprints; distinct counts are exact for sweeps with fewer layouts.
+    public static final int DEFAULT_SEEN_CAPACITY = 1 << 18;
+    private static final long LEAF_BOARDS = 1024;
+
+    // Aggregates over every board visited, duplicates included, so sampled figures follow the generator.
+    public static final class Summary {
+        public final long boards;
+        // Exact while the sweep has at most seenCapacity layouts; past that, a layout evicted from the
+        // memo of recent fingerprints and met again is counted again, so this is an upper bound.
+        public final long distinct;
+        // Enumerated boards skipped because some square can never reach the final square.
+        public final long unsolvable;
+        public final double minTurns;
+        public final double maxTurns;
+        public final double sumTurns;
+        public final double minFirstWin;
+        public final double maxFirstWin;
+        public final double sumFirstWin;
+        public final long elapsedNanos;
+
+        Summary(long boards, long distinct, long unsolvable, double minTurns, double maxTurns, double sumTurns,
+                double minFirstWin, double maxFirstWin, double sumFirstWin, long elapsedNanos) {
+            this.boards = boards;
+            this.distinct = distinct;
+            this.unsolvable = unsolvable;
+            this.minTurns = minTurns;
+            this.maxTurns = maxTurns;
+            this.sumTurns = sumTurns;
+            this.minFirstWin = minFirstWin;
+            this.maxFirstWin = maxFirstWin;
+            this.sumFirstWin = sumFirstWin;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        // Returns the combined figures of two disjoint parts of a sweep that ran side by side.
+        Summary merge(Summary other) {
+            return new Summary(boards + other.boards, distinct + other.distinct, unsolvable + other.unsolvable,
+                    Math.min(minTurns, other.minTurns), Math.max(maxTurns, other.maxTurns),
+                    sumTurns + other.sumTurns, Math.min(minFirstWin, other.minFirstWin),
+                    Math.max(maxFirstWin, other.maxFirstWin), sumFirstWin + other.sumFirstWin,
+                    Math.max(elapsedNanos, other.elapsedNanos));
+        }
+
+        // Formats the summary as a plain text report.
+        public String report() {
+            long n = Math.max(1, boards);
+            return String.format(Locale.US,
+                    "boards=%d distinct=%d duplicates=%d unsolvable=%d boards_per_sec=%.0f%n"
+                            + "expected_turns min=%.3f mean=%.3f max=%.3f%n"
+                            + "first_player_win min=%.4f mean=%.4f max=%.4f%n",
+                    boards, distinct, boards - distinct, unsolvable, boards / (elapsedNanos / 1e9),
+                    minTurns, sumTurns / n, maxTurns, minFirstWin, sumFirstWin / n, maxFirstWin);
+        }
+    }
+
+    // Running figures of one leaf task, turned into a Summary once the task is done.
+    private static final class Tally {
+        long boards;
+        long distinct;
+        long unsolvable;
+        double minTurns = Double.POSITIVE_INFINITY;
+        double maxTurns;
+        double sumTurns;
+        double minFirstWin = 1;
+        double maxFirstWin;
+        double sumFirstWin;
+
+        void add(BoardAnalysis analysis, boolean firstSeen) {
+            boards++;
+            if (firstSeen) distinct++;
+            double turns = analysis.expectedTurns();
+            double firstWin = analysis.firstPlayerWinChance();
+            minTurns = Math.min(minTurns, turns);
+            maxTurns = Math.max(maxTurns, turns);
+            sumTurns += turns;
+            minFirstWin = Math.min(minFirstWin, firstWin);
+            maxFirstWin = Math.max(maxFirstWin, firstWin);
+            sumFirstWin += firstWin;
+        }
+
+        Summary summary() {
+            return new Summary(boards, distinct, unsolvable, minTurns, maxTurns, sumTurns,
+                    minFirstWin, maxFirstWin, sumFirstWin, 0);
+        }
+    }
+
+    // Bounded memo of recently seen fingerprints, the least recently seen evicted first, so a sweep
+    // of any length deduplicates in fixed memory.
+    private static final class SeenLayouts {
+        private final Map<Long, Boolean> recent;
+
+        SeenLayouts(int capacity) {
+            this.recent = new LinkedHashMap<Long, Boolean>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        // Returns true if the fingerprint is not among the recently seen ones.
+        synchronized boolean add(long fingerprint) {
+            return recent.put(fingerprint, Boolean.TRUE) == null;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final AnalysisCache analyses;
+    private final int seenCapacity;
+
+    public BoardSurvey(ForkJoinPool pool, AnalysisCache analyses) {
+        this(pool, analyses, DEFAULT_SEEN_CAPACITY);
+    }
+
+    // Remembers at most seenCapacity fingerprints per sweep for counting distinct layouts.
+    public BoardSurvey(ForkJoinPool pool, AnalysisCache analyses, int seenCapacity) {
+        if (seenCapacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + seenCapacity);
+        this.pool = pool;
+        this.analyses = analyses;
+        this.seenCapacity = seenCapacity;
+    }
+
+    // Analyses the given number of generated boards. A seed gives the same boards on any core count.
+    public Summary sample(BoardGenerator generator, long count, long seed) {
+        SeenLayouts seen = new SeenLayouts(seenCapacity);
+        return timed(new Sampler(generator, count, new GameRandom(seed), seen));
+    }
+
+    // Analyses every board of the given size with up to maxFeatures snakes and ladders on distinct
+    // squares, with ladders ending below the final square and snakes above the first. The count grows
+    // roughly as total^(2 * maxFeatures), so this is for small boards.
+    public Summary enumerate(int total, int maxFeatures) {
+        SeenLayouts seen = new SeenLayouts(seenCapacity);
+        List<Enumerator> tasks = new ArrayList<>();
+        tasks.add(new Enumerator(total, maxFeatures, -1, seen));
+        for (int start = 2; start < total; start++) tasks.add(new Enumerator(total, maxFeatures, start, seen));
+        return timed(new RecursiveTask<Summary>() {
+            @Override
+            protected Summary compute() {
+                Summary summary = new Tally().summary();
+                for (Enumerator task : invokeAll(tasks)) summary = summary.merge(task.join());
+                return summary;
+            }
+        });
+    }
+
+    private Summary timed(RecursiveTask<Summary> task) {
+        long start = System.nanoTime();
+        Summary s = pool.invoke(task);
+        long elapsed = System.nanoTime() - start;
+        return new Summary(s.boards, s.distinct, s.unsolvable, s.minTurns, s.maxTurns, s.sumTurns,
+                s.minFirstWin, s.maxFirstWin, s.sumFirstWin, elapsed);
+    }
+
+    private void visit(Board board, SeenLayouts seen, Tally tally) {
+        tally.add(analyses.analyze(board), seen.add(board.fingerprint()));
+    }
+
+    @SuppressWarnings("serial")
+    private final class Sampler extends RecursiveTask<Summary> {
+        private final BoardGenerator generator;
+        private final long count;
+        private final GameRandom rng;
+        private final SeenLayouts seen;
+
+        Sampler(BoardGenerator generator, long count, GameRandom rng, SeenLayouts seen) {
+            this.generator = generator;
+            this.count = count;
+            this.rng = rng;
+            this.seen = seen;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (count <= LEAF_BOARDS) {
+                Tally tally = new Tally();
+                for (long i = 0; i < count; i++) visit(generator.generate(rng), seen, tally);
+                return tally.summary();
+            }
+            long half = count / 2;
+            Sampler left = new Sampler(generator, half, rng.split(), seen);
+            Sampler right = new Sampler(generator, count - half, rng.split(), seen);
+            left.fork();
+            return right.compute().merge(left.join());
+        }
+    }
+
+    // Enumerates the boards whose lowest feature starts on firstStart, or the empty board for -1.
+    @SuppressWarnings("serial")
+    private final class Enumerator extends RecursiveTask<Summary> {
+        private final int total;
+        private final int maxFeatures;
+        private final int firstStart;
+        private final SeenLayouts seen;
+
+        Enumerator(int total, int maxFeatures, int firstStart, SeenLayouts seen) {
+            this.total = total;
+            this.maxFeatures = maxFeatures;
+            this.firstStart = firstStart;
+            this.seen = seen;
+        }
+
+        @Override
+        protected Summary compute() {
+            Tally tally = new Tally();
+            int[] table = new int[total + 1];
+            for (int i = 1; i <= total; i++) table[i] = i;
+            boolean[] used = new boolean[total + 1];
+            if (firstStart < 0) {
+                visit(new Board(total, table), seen, tally);
+            } else if (maxFeatures > 0) {
+                place(table, used, firstStart, maxFeatures, true, tally);
+            }
+            return tally.summary();
+        }
+
+        // Places a feature starting on the given square in every possible way, visits each board,
+        // then extends it with features starting on later squares. With six or more features a run of
+        // snakes can trap part of the board; such boards have no finite game length and are only counted.
+        private void place(int[] table, boolean[] used, int start, int left, boolean exact, Tally tally) {
+            for (int s = start; s < total; s++) {
+                if (used[s]) continue;
+                for (int end = 2; end < total; end++) {
+                    if (end == s || used[end]) continue;
+                    table[s] = end;
+                    used[s] = true;
+                    used[end] = true;
+                    Board board = new Board(total, table);
+                    if (MarkovSolver.canFinishFromEverySquare(board)) {
+                        visit(board, seen, tally);
+                    } else {
+                        tally.unsolvable++;
+                    }
+                    if (left > 1) place(table, used, s + 1, left - 1, false, tally);
+                    table[s] = s;
+                    used[s] = false;
+                    used[end] = false;
+                }
+                if (exact) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.snakesandladders.engine.sim;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.GameEngine;
+import com.example.snakesandladders.engine.GameRandom;
+import com.example.snakesandladders.engine.SeededDice;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Plays large batches of games in parallel. Work is split with fork/join and every
+// subtask gets its own GameRandom split, so a seed gives the same counts on any core count.
+public final class MonteCarloSimulator {
+
+    public static final int DEFAULT_MAX_MOVES = 2000;
+    private static final long LEAF_GAMES = 16_384;
+
+    private final ForkJoinPool pool;
+    private final int players;
+    private final int maxMoves;
+
+    public MonteCarloSimulator(ForkJoinPool pool, int players) {
+        this(pool, players, DEFAULT_MAX_MOVES);
+    }
+
+    public MonteCarloSimulator(ForkJoinPool pool, int players, int maxMoves) {
+        if (players < 1) throw new IllegalArgumentException("Simulation needs at least one player: " + players);
+        this.pool = pool;
+        this.players = players;
+        this.maxMoves = maxMoves;
+    }
+
+    // Plays the given number of games on one board.
+    public SimulationResult run(Board board, long games, long seed) {
+        return invoke(new Batch(board, null, games, new GameRandom(seed)), board.total());
+    }
+
+    // Plays the given number of games, each on a freshly generated board.
+    public SimulationResult runGenerated(BoardGenerator generator, long games, long seed) {
+        return invoke(new Batch(null, generator, games, new GameRandom(seed)), generator.total());
+    }
+
+    private SimulationResult invoke(Batch batch, int total) {
+        if (batch.games <= 0) return new SimulationResult(players, total, maxMoves);
+        long start = System.nanoTime();
+        SimulationResult result = pool.invoke(batch);
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    @SuppressWarnings("serial")
+    private final class Batch extends RecursiveTask<SimulationResult> {
+        private final Board board;
+        private final BoardGenerator generator;
+        private final long games;
+        private final GameRandom rng;
+
+        Batch(Board board, BoardGenerator generator, long games, GameRandom rng) {
+            this.board = board;
+            this.generator = generator;
+            this.games = games;
+            this.rng = rng;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (games <= LEAF_GAMES) return playAll();
+            long half = games / 2;
+            Batch left = new Batch(board, generator, half, rng.split());
+            Batch right = new Batch(board, generator, games - half, rng.split());
+            left.fork();
+            SimulationResult result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private SimulationResult playAll() {
+            int total = board != null ? board.total() : generator.total();
+            SimulationResult result = new SimulationResult(players, total, maxMoves);
+            SeededDice dice = new SeededDice(rng.split());
+            GameEngine engine = board != null ? new GameEngine(board, dice, players) : null;
+            GameRandom boardRand = generator != null ? rng.split() : null;
+
+            for (long g = 0; g < games; g++) {
+                if (generator != null) {
+                    engine = new GameEngine(generator.generate(boardRand), dice, players);
+                } else {
+                    engine.reset();
+                }
+                Board played = engine.board();
+                boolean won = false;
+                int moves = 0;
+                while (!won && moves < maxMoves) {
+                    won = engine.step();
+                    moves++;
+                    int landing = engine.lastLanding();
+                    if (played.isLadder(landing)) {
+                        result.ladderHits[landing]++;
+                    } else if (played.isSnake(landing)) {
+                        result.snakeHits[landing]++;
+                    }
+                }
+                result.games++;
+                if (won) {
+                    result.lengthHistogram[moves]++;
+                    result.totalMoves += moves;
+                    result.winsBySeat[engine.winner()]++;
+                } else {
+                    result.unfinished++;
+                }
+            }
+            return result;
+        }
+    }
+}
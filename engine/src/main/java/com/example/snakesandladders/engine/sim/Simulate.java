@@ -0,0 +1,29 @@
+package com.example.snakesandladders.engine.sim;
+
+import com.example.snakesandladders.engine.BoardGenerator;
+
+import java.util.concurrent.ForkJoinPool;
+
+// Command line entry point: Simulate [games] [players] [seed] [threads].
+public final class Simulate {
+
+    private Simulate() {
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            MonteCarloSimulator simulator = new MonteCarloSimulator(pool, players);
+            SimulationResult result = simulator.runGenerated(new BoardGenerator(), games, seed);
+            System.out.println("seed=" + seed + " threads=" + threads);
+            System.out.print(result.report());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
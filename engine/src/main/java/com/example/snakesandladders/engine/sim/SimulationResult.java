@@ -0,0 +1,122 @@
+package com.example.snakesandladders.engine.sim;
+
+import java.util.Locale;
+
+// Aggregated counters from a batch of simulated games.
+public final class SimulationResult {
+
+    private final int players;
+    private final int total;
+    private final int maxMoves;
+
+    long games;
+    long unfinished;
+    long totalMoves;
+    final long[] lengthHistogram;
+    final long[] winsBySeat;
+    final long[] ladderHits;
+    final long[] snakeHits;
+    long elapsedNanos;
+
+    SimulationResult(int players, int total, int maxMoves) {
+        this.players = players;
+        this.total = total;
+        this.maxMoves = maxMoves;
+        this.lengthHistogram = new long[maxMoves + 1];
+        this.winsBySeat = new long[players];
+        this.ladderHits = new long[total + 1];
+        this.snakeHits = new long[total + 1];
+    }
+
+    // Adds the counters of another partial result into this one.
+    void merge(SimulationResult other) {
+        games += other.games;
+        unfinished += other.unfinished;
+        totalMoves += other.totalMoves;
+        for (int i = 0; i < lengthHistogram.length; i++) lengthHistogram[i] += other.lengthHistogram[i];
+        for (int i = 0; i < winsBySeat.length; i++) winsBySeat[i] += other.winsBySeat[i];
+        for (int i = 0; i < ladderHits.length; i++) {
+            ladderHits[i] += other.ladderHits[i];
+            snakeHits[i] += other.snakeHits[i];
+        }
+    }
+
+    public int players() {
+        return players;
+    }
+
+    public int total() {
+        return total;
+    }
+
+    // Returns the move cap after which a game is counted as unfinished.
+    public int maxMoves() {
+        return maxMoves;
+    }
+
+    public long games() {
+        return games;
+    }
+
+    // Returns the number of games stopped at the move cap without a winner.
+    public long unfinished() {
+        return unfinished;
+    }
+
+    // Returns how many finished games took exactly the given number of moves, counting every player's move.
+    public long gamesWithLength(int moves) {
+        return lengthHistogram[moves];
+    }
+
+    public long wins(int seat) {
+        return winsBySeat[seat];
+    }
+
+    // Returns the share of finished games won by the given seat.
+    public double winRate(int seat) {
+        long finished = games - unfinished;
+        return finished == 0 ? 0 : (double) winsBySeat[seat] / finished;
+    }
+
+    // Returns how often a move ended on the ladder starting at the given square.
+    public long ladderHits(int square) {
+        return ladderHits[square];
+    }
+
+    // Returns how often a move ended on the snake starting at the given square.
+    public long snakeHits(int square) {
+        return snakeHits[square];
+    }
+
+    public double meanLength() {
+        long finished = games - unfinished;
+        return finished == 0 ? 0 : (double) totalMoves / finished;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    // Formats the result as a plain text report.
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "games=%d unfinished=%d mean_moves=%.3f games_per_sec=%.0f%n",
+                games, unfinished, meanLength(), gamesPerSecond()));
+        for (int seat = 0; seat < players; seat++) {
+            sb.append(String.format(Locale.US, "seat %d win_rate=%.5f%n", seat + 1, winRate(seat)));
+        }
+        for (int square = 1; square <= total; square++) {
+            if (ladderHits[square] != 0) sb.append(String.format(Locale.US, "ladder %d hits=%d%n", square, ladderHits[square]));
+            if (snakeHits[square] != 0) sb.append(String.format(Locale.US, "snake %d hits=%d%n", square, snakeHits[square]));
+        }
+        sb.append("moves games\n");
+        for (int moves = 0; moves <= maxMoves; moves++) {
+            if (lengthHistogram[moves] != 0) sb.append(moves).append(' ').append(lengthHistogram[moves]).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.snakesandladders.engine.sim;
+
+import com.example.snakesandladders.engine.AnalysisCache;
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.RuleVariant;
+
+import java.util.concurrent.ForkJoinPool;
+
+// Command line entry point:
+//   SurveyBoards sample [boards] [total] [seed] [threads] [variant] [cacheSize]
+//   SurveyBoards enumerate [total] [maxFeatures] [threads] [variant] [cacheSize]
+public final class SurveyBoards {
+
+    private SurveyBoards() {
+    }
+
+    public static void main(String[] args) {
+        boolean enumerate = args.length > 0 && args[0].equals("enumerate");
+        int threads = Runtime.getRuntime().availableProcessors();
+        RuleVariant variant = RuleVariant.CLASSIC;
+        int cacheSize = 100_000;
+        ForkJoinPool pool;
+        BoardSurvey.Summary summary;
+        if (enumerate) {
+            int total = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+            int maxFeatures = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+            if (args.length > 3) threads = Integer.parseInt(args[3]);
+            if (args.length > 4) variant = RuleVariant.valueOf(args[4]);
+            if (args.length > 5) cacheSize = Integer.parseInt(args[5]);
+            pool = new ForkJoinPool(threads);
+            try {
+                summary = new BoardSurvey(pool, new AnalysisCache(cacheSize, variant)).enumerate(total, maxFeatures);
+            } finally {
+                pool.shutdown();
+            }
+            System.out.println("enumerate total=" + total + " maxFeatures=" + maxFeatures + " threads=" + threads);
+        } else {
+            long boards = args.length > 1 ? Long.parseLong(args[1]) : 100_000L;
+            int total = args.length > 2 ? Integer.parseInt(args[2]) : BoardGenerator.DEFAULT_TOTAL;
+            long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+            if (args.length > 4) threads = Integer.parseInt(args[4]);
+            if (args.length > 5) variant = RuleVariant.valueOf(args[5]);
+            if (args.length > 6) cacheSize = Integer.parseInt(args[6]);
+            pool = new ForkJoinPool(threads);
+            try {
+                summary = new BoardSurvey(pool, new AnalysisCache(cacheSize, variant))
+                        .sample(new BoardGenerator(total), boards, seed);
+            } finally {
+                pool.shutdown();
+            }
+            System.out.println("sample total=" + total + " seed=" + seed + " threads=" + threads);
+        }
+        System.out.print(summary.report());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.snakesandladders.engine.tournament;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Writes fixed 20 byte little-endian records: game long, board int, moves int, first byte,
+// second byte, winner byte (-1 for a draw), one padding byte. Board and moves are full ints so
+// large pools and move caps are written as they are.
+public final class BinaryResultSink implements ResultSink {
+
+    public static final int RECORD_BYTES = 20;
+
+    private final OutputStream out;
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * 4096).order(ByteOrder.LITTLE_ENDIAN);
+
+    public BinaryResultSink(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public synchronized void record(long game, int board, int first, int second, int winner, int moves)
+            throws IOException {
+        if (buffer.remaining() < RECORD_BYTES) flush();
+        buffer.putLong(game)
+              .putInt(board)
+              .putInt(moves)
+              .put((byte) first)
+              .put((byte) second)
+              .put((byte) winner)
+              .put((byte) 0);
+    }
+
+    private void flush() throws IOException {
+        out.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        out.close();
+    }
+}
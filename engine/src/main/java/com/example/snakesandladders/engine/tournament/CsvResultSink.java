@@ -0,0 +1,31 @@
+package com.example.snakesandladders.engine.tournament;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+// Writes one CSV line per game: game,board,first,second,winner,moves. Entrants are written by index.
+public final class CsvResultSink implements ResultSink {
+
+    private final BufferedWriter out;
+    private final StringBuilder line = new StringBuilder(48);
+
+    public CsvResultSink(Writer writer) throws IOException {
+        this.out = new BufferedWriter(writer, 1 << 16);
+        out.write("game,board,first,second,winner,moves\n");
+    }
+
+    @Override
+    public synchronized void record(long game, int board, int first, int second, int winner, int moves)
+            throws IOException {
+        line.setLength(0);
+        line.append(game).append(',').append(board).append(',').append(first).append(',')
+            .append(second).append(',').append(winner).append(',').append(moves).append('\n');
+        out.append(line);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
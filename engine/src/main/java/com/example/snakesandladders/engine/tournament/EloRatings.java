@@ -0,0 +1,96 @@
+package com.example.snakesandladders.engine.tournament;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+
+// Elo-scale ratings fitted to the head-to-head scores with the Bradley-Terry model, which does
+// not depend on the order games finished in. Ratings are centered on 1500; intervals are 95%
+// normal approximations from each entrant's Fisher information.
+public final class EloRatings {
+
+    public static final double MEAN_RATING = 1500;
+    private static final double ELO_PER_NATURAL = 400 / Math.log(10);
+    private static final double Z_95 = 1.96;
+    private static final int MAX_ITERATIONS = 10_000;
+    private static final double TOLERANCE = 1e-10;
+    // Every pair that met is credited one extra drawn game, so an unbeaten or winless entrant
+    // still gets a finite rating.
+    private static final double PRIOR_POINTS = 0.5;
+
+    private final double[] ratings;
+    private final double[] halfIntervals;
+
+    private EloRatings(double[] ratings, double[] halfIntervals) {
+        this.ratings = ratings;
+        this.halfIntervals = halfIntervals;
+    }
+
+    public static EloRatings fit(Standings standings) {
+        int n = standings.entrants();
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1);
+        double[] points = new double[n];
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                if (a != b && standings.games(a, b) > 0) points[a] += standings.score(a, b) + PRIOR_POINTS;
+            }
+        }
+
+        // Minorization-maximization updates: s_a = points_a / sum_b n_ab / (s_a + s_b).
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double maxChange = 0;
+            double logSum = 0;
+            for (int a = 0; a < n; a++) {
+                double denominator = 0;
+                for (int b = 0; b < n; b++) {
+                    long games = standings.games(a, b);
+                    if (a != b && games > 0) denominator += (games + 2 * PRIOR_POINTS) / (strength[a] + strength[b]);
+                }
+                double next = denominator == 0 ? strength[a] : points[a] / denominator;
+                maxChange = Math.max(maxChange, Math.abs(Math.log(next / strength[a])));
+                strength[a] = next;
+            }
+            for (double s : strength) logSum += Math.log(s);
+            double scale = Math.exp(-logSum / n);
+            for (int a = 0; a < n; a++) strength[a] *= scale;
+            if (maxChange < TOLERANCE) break;
+        }
+
+        double[] ratings = new double[n];
+        double[] halfIntervals = new double[n];
+        for (int a = 0; a < n; a++) {
+            ratings[a] = MEAN_RATING + ELO_PER_NATURAL * Math.log(strength[a]);
+            double information = 0;
+            for (int b = 0; b < n; b++) {
+                if (a == b) continue;
+                double p = strength[a] / (strength[a] + strength[b]);
+                information += standings.games(a, b) * p * (1 - p);
+            }
+            halfIntervals[a] = information == 0 ? Double.POSITIVE_INFINITY
+                    : Z_95 * ELO_PER_NATURAL / Math.sqrt(information);
+        }
+        return new EloRatings(ratings, halfIntervals);
+    }
+
+    public double rating(int entrant) {
+        return ratings[entrant];
+    }
+
+    // Returns the half width of the entrant's 95% confidence interval in rating points.
+    public double halfInterval(int entrant) {
+        return halfIntervals[entrant];
+    }
+
+    // Returns the entrants from highest to lowest rating, one per line.
+    public String report(String[] names) {
+        Integer[] order = new Integer[ratings.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingDouble(i -> -ratings[i]));
+        StringBuilder sb = new StringBuilder();
+        for (int i : order) {
+            sb.append(String.format(Locale.US, "%-14s %7.1f +/- %.1f%n", names[i], ratings[i], halfIntervals[i]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.snakesandladders.engine.tournament;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.PolicyTable;
+import com.example.snakesandladders.engine.RandomRollStrategy;
+import com.example.snakesandladders.engine.RuleVariant;
+import com.example.snakesandladders.engine.Strategy;
+
+// A named computer player. Strategies may depend on the board, so each entrant builds one per board.
+public final class Entrant {
+
+    // Builds the entrant's strategy for one board; called once per board in the pool.
+    public interface Source {
+        Strategy forBoard(Board board, RuleVariant variant);
+    }
+
+    private final String name;
+    private final Source source;
+
+    public Entrant(String name, Source source) {
+        this.name = name;
+        this.source = source;
+    }
+
+    // The game screen's original computer: takes every roll as it comes.
+    public static Entrant randomRoll() {
+        return new Entrant("random-roll", (board, variant) -> RandomRollStrategy.INSTANCE);
+    }
+
+    // Prefers the move that ends furthest along the board, without looking further ahead.
+    public static Entrant greedy() {
+        return new Entrant("greedy", (board, variant) -> new GreedyStrategy(board));
+    }
+
+    // Plays the solved value-iteration policy for the board.
+    public static Entrant policy() {
+        return new Entrant("policy", PolicyTable::compute);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    Strategy strategyFor(Board board, RuleVariant variant) {
+        return source.forBoard(board, variant);
+    }
+}
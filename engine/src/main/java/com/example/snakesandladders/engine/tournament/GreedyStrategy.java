@@ -0,0 +1,32 @@
+package com.example.snakesandladders.engine.tournament;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.Dice;
+import com.example.snakesandladders.engine.Strategy;
+
+// One-move lookahead: picks the die that ends furthest along and re-rolls any roll that ends
+// behind where an average roll would.
+final class GreedyStrategy implements Strategy {
+
+    private static final double AVERAGE_ROLL = (Dice.FACES + 1) / 2.0;
+
+    private final Board board;
+
+    GreedyStrategy(Board board) {
+        this.board = board;
+    }
+
+    @Override
+    public int chooseDie(int position, int first, int second) {
+        return destination(position, second) > destination(position, first) ? second : first;
+    }
+
+    @Override
+    public boolean reroll(int position, int roll) {
+        return destination(position, roll) < position + AVERAGE_ROLL;
+    }
+
+    private int destination(int position, int roll) {
+        return board.destination(Math.min(position + roll, board.total()));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.snakesandladders.engine.tournament;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Receives every finished game as it is played, so a tournament never keeps its games in memory.
+// Called from several worker threads at once.
+public interface ResultSink extends Closeable {
+
+    int DRAW = -1;
+
+    // Records one game: entrant indexes for the first and second seat, the winning entrant or
+    // DRAW when the move cap was reached, and the number of moves played.
+    void record(long game, int board, int first, int second, int winner, int moves) throws IOException;
+
+    // A sink that drops every record.
+    ResultSink NONE = new ResultSink() {
+        @Override
+        public void record(long game, int board, int first, int second, int winner, int moves) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+}
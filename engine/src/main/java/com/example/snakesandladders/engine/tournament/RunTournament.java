@@ -0,0 +1,47 @@
+package com.example.snakesandladders.engine.tournament;
+
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.RuleVariant;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+// Command line entry point: RunTournament [boards] [gamesPerBoard] [variant] [seed] [threads] [out.csv|out.bin].
+public final class RunTournament {
+
+    private RunTournament() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int gamesPerBoard = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        RuleVariant variant = args.length > 2 ? RuleVariant.valueOf(args[2]) : RuleVariant.CHOOSE_DIE;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        String out = args.length > 5 ? args[5] : "";
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try (ResultSink sink = openSink(out)) {
+            Tournament tournament = new Tournament(pool,
+                    Arrays.asList(Entrant.randomRoll(), Entrant.greedy(), Entrant.policy()), variant);
+            Standings standings = tournament.run(new BoardGenerator(), boards, gamesPerBoard, seed, sink);
+            String[] names = tournament.names();
+            System.out.printf("seed=%d threads=%d variant=%s games=%d (%.0f games/s)%n",
+                    seed, threads, variant, standings.totalGames(), standings.gamesPerSecond());
+            System.out.print(standings.report(names));
+            System.out.print(EloRatings.fit(standings).report(names));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static ResultSink openSink(String path) throws IOException {
+        if (path.isEmpty()) return ResultSink.NONE;
+        if (path.endsWith(".bin")) return new BinaryResultSink(new BufferedOutputStream(new FileOutputStream(path)));
+        return new CsvResultSink(new FileWriter(path));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.snakesandladders.engine.tournament;
+
+import java.util.Locale;
+
+// Head-to-head counters for every pair of entrants; all a tournament keeps in memory.
+public final class Standings {
+
+    private final int entrants;
+    // [a * entrants + b]: games between a and b, and how many of them a won.
+    final long[] games;
+    final long[] wins;
+    long elapsedNanos;
+
+    Standings(int entrants) {
+        this.entrants = entrants;
+        this.games = new long[entrants * entrants];
+        this.wins = new long[entrants * entrants];
+    }
+
+    void record(int a, int b, int winner) {
+        games[a * entrants + b]++;
+        games[b * entrants + a]++;
+        if (winner == a) {
+            wins[a * entrants + b]++;
+        } else if (winner == b) {
+            wins[b * entrants + a]++;
+        }
+    }
+
+    // Adds the counters of another partial result into this one.
+    void merge(Standings other) {
+        for (int i = 0; i < games.length; i++) {
+            games[i] += other.games[i];
+            wins[i] += other.wins[i];
+        }
+    }
+
+    public int entrants() {
+        return entrants;
+    }
+
+    public long games(int a, int b) {
+        return games[a * entrants + b];
+    }
+
+    public long wins(int a, int b) {
+        return wins[a * entrants + b];
+    }
+
+    // Returns games between a and b that hit the move cap.
+    public long draws(int a, int b) {
+        return games(a, b) - wins(a, b) - wins(b, a);
+    }
+
+    // Returns a's points against b, counting a draw as half a point.
+    public double score(int a, int b) {
+        return wins(a, b) + 0.5 * draws(a, b);
+    }
+
+    public long totalGames() {
+        long sum = 0;
+        for (long g : games) sum += g;
+        return sum / 2;
+    }
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : totalGames() * 1e9 / elapsedNanos;
+    }
+
+    // Returns a table of each row entrant's score share against each column entrant.
+    public String report(String[] names) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%-14s", ""));
+        for (String name : names) sb.append(String.format(Locale.US, "%14s", name));
+        sb.append('\n');
+        for (int a = 0; a < entrants; a++) {
+            sb.append(String.format(Locale.US, "%-14s", names[a]));
+            for (int b = 0; b < entrants; b++) {
+                long g = games(a, b);
+                sb.append(a == b || g == 0 ? String.format(Locale.US, "%14s", "-")
+                        : String.format(Locale.US, "%13.2f%%", 100.0 * score(a, b) / g));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
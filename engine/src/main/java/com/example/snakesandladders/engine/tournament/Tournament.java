@@ -0,0 +1,167 @@
+package com.example.snakesandladders.engine.tournament;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.GameEngine;
+import com.example.snakesandladders.engine.GameRandom;
+import com.example.snakesandladders.engine.RuleVariant;
+import com.example.snakesandladders.engine.SeededDice;
+import com.example.snakesandladders.engine.Strategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Round-robin league between computer strategies on a pool of generated boards. Every pair of
+// entrants plays gamesPerBoard two-player games on every board, alternating who moves first.
+// Games are split across the fork/join pool; each game's dice are seeded from the tournament seed
+// and the game's index, so standings do not depend on the pool size. Finished games are streamed
+// to the sink and only head-to-head counters are kept.
+public final class Tournament {
+
+    public static final int DEFAULT_MAX_MOVES = 2000;
+    private static final long LEAF_GAMES = 4096;
+
+    private final ForkJoinPool pool;
+    private final List<Entrant> entrants;
+    private final RuleVariant variant;
+    private final int maxMoves;
+
+    public Tournament(ForkJoinPool pool, List<Entrant> entrants, RuleVariant variant) {
+        this(pool, entrants, variant, DEFAULT_MAX_MOVES);
+    }
+
+    public Tournament(ForkJoinPool pool, List<Entrant> entrants, RuleVariant variant, int maxMoves) {
+        if (entrants.size() < 2) throw new IllegalArgumentException("A league needs at least two entrants");
+        if (entrants.size() > Byte.MAX_VALUE) throw new IllegalArgumentException("Too many entrants: " + entrants.size());
+        this.pool = pool;
+        this.entrants = entrants;
+        this.variant = variant;
+        this.maxMoves = maxMoves;
+    }
+
+    // Returns the entrant names in index order, as used by the sinks and reports.
+    public String[] names() {
+        String[] names = new String[entrants.size()];
+        for (int i = 0; i < names.length; i++) names[i] = entrants.get(i).name();
+        return names;
+    }
+
+    // Returns the number of games a run with the given pool shape plays.
+    public long gameCount(int boards, int gamesPerBoard) {
+        int n = entrants.size();
+        return (long) n * (n - 1) / 2 * boards * gamesPerBoard;
+    }
+
+    // Generates the board pool, solves every entrant's strategy per board, then plays the league.
+    public Standings run(BoardGenerator generator, int boards, int gamesPerBoard, long seed, ResultSink sink)
+            throws IOException {
+        GameRandom random = new GameRandom(seed);
+        Board[] pool = new Board[boards];
+        Strategy[][] strategies = new Strategy[entrants.size()][boards];
+        for (int b = 0; b < boards; b++) {
+            pool[b] = generator.generate(random.split());
+            for (int e = 0; e < entrants.size(); e++) {
+                strategies[e][b] = entrants.get(e).strategyFor(pool[b], variant);
+            }
+        }
+        int[] pairFirst = new int[entrants.size() * (entrants.size() - 1) / 2];
+        int[] pairSecond = new int[pairFirst.length];
+        for (int a = 0, p = 0; a < entrants.size(); a++) {
+            for (int b = a + 1; b < entrants.size(); b++, p++) {
+                pairFirst[p] = a;
+                pairSecond[p] = b;
+            }
+        }
+
+        League league = new League(pool, strategies, pairFirst, pairSecond, gamesPerBoard, random.nextLong(), sink);
+        long start = System.nanoTime();
+        Standings standings;
+        try {
+            standings = this.pool.invoke(new Games(league, 0, gameCount(boards, gamesPerBoard)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        standings.elapsedNanos = System.nanoTime() - start;
+        return standings;
+    }
+
+    // Everything shared read-only by the workers.
+    private static final class League {
+        final Board[] boards;
+        final Strategy[][] strategies;
+        final int[] pairFirst;
+        final int[] pairSecond;
+        final int gamesPerBoard;
+        final long seed;
+        final ResultSink sink;
+
+        League(Board[] boards, Strategy[][] strategies, int[] pairFirst, int[] pairSecond, int gamesPerBoard,
+               long seed, ResultSink sink) {
+            this.boards = boards;
+            this.strategies = strategies;
+            this.pairFirst = pairFirst;
+            this.pairSecond = pairSecond;
+            this.gamesPerBoard = gamesPerBoard;
+            this.seed = seed;
+            this.sink = sink;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class Games extends RecursiveTask<Standings> {
+        private final League league;
+        private final long from;
+        private final long to;
+
+        Games(League league, long from, long to) {
+            this.league = league;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Standings compute() {
+            if (to - from <= LEAF_GAMES) return playAll();
+            long mid = (from + to) >>> 1;
+            Games left = new Games(league, from, mid);
+            Games right = new Games(league, mid, to);
+            left.fork();
+            Standings result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private Standings playAll() {
+            Standings standings = new Standings(entrants.size());
+            Strategy[] seats = new Strategy[2];
+            long perPair = (long) league.boards.length * league.gamesPerBoard;
+            for (long game = from; game < to; game++) {
+                int pair = (int) (game / perPair);
+                int board = (int) (game % perPair / league.gamesPerBoard);
+                boolean swap = (game & 1) != 0;
+                int first = swap ? league.pairSecond[pair] : league.pairFirst[pair];
+                int second = swap ? league.pairFirst[pair] : league.pairSecond[pair];
+                seats[0] = league.strategies[first][board];
+                seats[1] = league.strategies[second][board];
+
+                SeededDice dice = new SeededDice(new GameRandom(league.seed + game * 0x9e3779b97f4a7c15L).nextLong());
+                GameEngine engine = new GameEngine(league.boards[board], dice, 2);
+                boolean won = false;
+                while (!won && engine.turnCount() < maxMoves) {
+                    won = engine.step(variant, seats[engine.currentSeat()]);
+                }
+                int winner = won ? (engine.winner() == 0 ? first : second) : ResultSink.DRAW;
+                standings.record(first, second, winner);
+                try {
+                    league.sink.record(game, board, first, second, winner, engine.turnCount());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return standings;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.snakesandladders.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.snakesandladders.engine.sim.MonteCarloSimulator;
+import com.example.snakesandladders.engine.sim.SimulationResult;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class AnalysisCacheTest {
+
+    private static int[] sampleTable() {
+        int[] table = Board.empty(60).copyJumpTable();
+        table[4] = 14;
+        table[30] = 12;
+        table[47] = 26;
+        return table;
+    }
+
+    @Test
+    public void fingerprintFollowsThePlayableLayout() {
+        Board board = new Board(60, sampleTable());
+        assertEquals(board.fingerprint(), new Board(60, sampleTable()).fingerprint());
+
+        // No move lands on the start square, so a jump there does not change the game.
+        int[] fromStart = sampleTable();
+        fromStart[Board.START_SQUARE] = 20;
+        Board same = new Board(60, fromStart);
+        assertEquals(board.fingerprint(), same.fingerprint());
+        assertTrue(board.sameLayout(same));
+
+        int[] moved = sampleTable();
+        moved[30] = 13;
+        Board other = new Board(60, moved);
+        assertNotEquals(board.fingerprint(), other.fingerprint());
+        assertFalse(board.sameLayout(other));
+        assertNotEquals(board.fingerprint(), Board.empty(61).fingerprint());
+    }
+
+    @Test
+    public void repeatedLayoutsAreSolvedOnce() {
+        AnalysisCache cache = new AnalysisCache(2, RuleVariant.CHOOSE_DIE);
+        BoardAnalysis first = cache.analyze(new Board(60, sampleTable()));
+        assertSame(first, cache.analyze(new Board(60, sampleTable())));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(RuleVariant.CHOOSE_DIE, first.policy().variant());
+        assertEquals(new MarkovSolver().expectedTurns(first.board()), first.expectedTurns(), 1e-9);
+
+        GameRandom random = new GameRandom(3);
+        BoardGenerator generator = new BoardGenerator();
+        for (int i = 0; i < 5; i++) cache.analyze(generator.generate(random));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void firstPlayerWinChanceMatchesSimulation() {
+        Board board = new Board(60, sampleTable());
+        double exact = BoardAnalysis.compute(board, RuleVariant.CLASSIC).firstPlayerWinChance();
+        assertTrue(exact > 0.5);
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            SimulationResult result = new MonteCarloSimulator(pool, 2).run(board, 200_000, 17);
+            assertEquals(exact, result.winRate(0), 0.005);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.snakesandladders.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BoardCacheTest {
+
+    @Test
+    public void prefillStocksEveryBucketWithinCapacity() {
+        BoardCache cache = new BoardCache(new BoardGenerator(), 9, Runnable::run, 11);
+        cache.prefill();
+        int stocked = 0;
+        for (Difficulty d : Difficulty.values()) {
+            assertTrue(cache.available(d) > 0);
+            stocked += cache.available(d);
+        }
+        assertEquals(9, stocked);
+    }
+
+    @Test
+    public void takeReturnsRequestedDifficulty() {
+        BoardCache cache = new BoardCache(new BoardGenerator(), 6, Runnable::run, 5);
+        MarkovSolver solver = new MarkovSolver();
+        for (int i = 0; i < 20; i++) {
+            for (Difficulty d : Difficulty.values()) {
+                ScoredBoard scored = cache.take(d);
+                assertEquals(d, scored.difficulty());
+                assertEquals(solver.expectedTurns(scored.board()), scored.expectedTurns(), 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.snakesandladders.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class GameEngineTest {
+
+    // Builds a 60 square board with one ladder 3 -> 20 and one snake 30 -> 10.
+    private static Board sampleBoard() {
+        int[] table = Board.empty(60).copyJumpTable();
+        table[3] = 20;
+        table[30] = 10;
+        return new Board(60, table);
+    }
+
+    @Test
+    public void ladderAndSnakeAreFollowed() {
+        GameEngine engine = new GameEngine(sampleBoard(), () -> 2, 2);
+        engine.move(2);
+        assertEquals(3, engine.lastLanding());
+        assertEquals(20, engine.position(0));
+        assertEquals(1, engine.currentSeat());
+
+        engine.move(5);
+        engine.move(4);
+        engine.move(1);
+        engine.move(6);
+        assertEquals(30, engine.lastLanding());
+        assertEquals(10, engine.position(0));
+    }
+
+    @Test
+    public void moveStopsOnFinalSquare() {
+        GameEngine engine = new GameEngine(Board.empty(60), () -> 6, 1);
+        for (int i = 0; i < 9; i++) engine.move(6);
+        assertEquals(55, engine.position(0));
+        assertTrue(engine.move(6));
+        assertEquals(60, engine.lastLanding());
+        assertEquals(0, engine.winner());
+        assertTrue(engine.isOver());
+    }
+
+    @Test
+    public void rollsOutsideTheDieAreRejected() {
+        GameEngine engine = new GameEngine(sampleBoard(), () -> 2, 2);
+        for (int roll : new int[] {0, -1, Dice.FACES + 1}) {
+            try {
+                engine.move(roll);
+                fail("Expected roll " + roll + " to be rejected");
+            } catch (IllegalArgumentException expected) {
+                // The game is left as it was.
+            }
+        }
+        assertEquals(0, engine.turnCount());
+        assertEquals(Board.START_SQUARE, engine.position(0));
+    }
+
+    @Test
+    public void generatedBoardsFollowTheRules() {
+        BoardGenerator generator = new BoardGenerator();
+        GameRandom rand = new GameRandom(42);
+        for (int n = 0; n < 1000; n++) {
+            Board board = generator.generate(rand);
+            assertTrue(board.ladderCount() >= 2 && board.ladderCount() <= 5);
+            assertTrue(board.snakeCount() >= 2 && board.snakeCount() <= 5);
+            for (int i = 1; i <= board.total(); i++) {
+                int jump = Math.abs(board.destination(i) - i);
+                assertTrue(jump == 0 || (jump >= 6 && jump <= 18));
+                assertFalse(board.destination(i) == board.total() && i != board.total());
+            }
+        }
+    }
+
+    @Test
+    public void seededGamesFinish() {
+        GameRandom rand = new GameRandom(7);
+        Board board = new BoardGenerator().generate(rand.split());
+        GameEngine engine = new GameEngine(board, new SeededDice(rand.split()), 2);
+        while (!engine.step()) {
+            assertFalse(engine.isOver());
+        }
+        assertEquals(60, engine.position(engine.winner()));
+    }
+
+    @Test
+    public void eightPlayersFinishOnLargestBoard() {
+        GameRandom rand = new GameRandom(11);
+        Board board = new BoardGenerator(Board.MAX_TOTAL).generate(rand.split());
+        assertTrue(board.ladderCount() >= 12 && board.snakeCount() >= 12);
+        GameEngine engine = new GameEngine(board, new SeededDice(rand.split()), GameEngine.MAX_PLAYERS);
+        int seat = 0;
+        while (!engine.step()) {
+            assertEquals(seat, engine.lastSeat());
+            seat = (seat + 1) % GameEngine.MAX_PLAYERS;
+        }
+        assertEquals(Board.MAX_TOTAL, engine.position(engine.winner()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTooManyPlayers() {
+        new GameEngine(Board.empty(60), () -> 1, GameEngine.MAX_PLAYERS + 1);
+    }
+
+    @Test
+    public void occupiedBitsetCoversFeatureEnds() {
+        Board board = sampleBoard();
+        int[] expected = {3, 10, 20, 30};
+        int square = board.nextOccupied(1);
+        for (int e : expected) {
+            assertEquals(e, square);
+            assertTrue(board.isOccupied(e));
+            square = board.nextOccupied(square + 1);
+        }
+        assertEquals(-1, square);
+        assertFalse(board.isOccupied(4));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.snakesandladders.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class GameRandomTest {
+
+    @Test
+    public void stateResumesSequence() {
+        GameRandom a = new GameRandom(2024);
+        for (int i = 0; i < 10; i++) a.nextLong();
+        GameRandom b = GameRandom.fromState(a.state());
+        for (int i = 0; i < 100; i++) assertEquals(a.nextInt(6), b.nextInt(6));
+    }
+
+    @Test
+    public void splitsAreReproducible() {
+        GameRandom a = new GameRandom(5).split();
+        GameRandom b = new GameRandom(5).split();
+        for (int i = 0; i < 100; i++) assertEquals(a.nextLong(), b.nextLong());
+    }
+
+    @Test
+    public void nextIntCoversRangeEvenly() {
+        GameRandom random = new GameRandom(1);
+        int[] counts = new int[6];
+        for (int i = 0; i < 600_000; i++) counts[random.nextInt(6)]++;
+        for (int count : counts) assertTrue(Math.abs(count - 100_000) < 1_500);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.snakesandladders.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GameSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void restoredGameContinuesIdentically() {
+        Board board = new BoardGenerator().generate(new GameRandom(8));
+        GameEngine original = new GameEngine(board, new SeededDice(1234), 2);
+        for (int i = 0; i < 7 && !original.isOver(); i++) original.step();
+
+        byte[] bytes = GameSnapshot.of(original).toBytes();
+        assertEquals(GameSnapshot.sizeInBytes(60, 2), bytes.length);
+        GameEngine restored = GameSnapshot.fromBytes(bytes).restore();
+
+        assertEquals(original.currentSeat(), restored.currentSeat());
+        while (!original.isOver()) {
+            original.step();
+            restored.step();
+            assertEquals(original.lastRoll(), restored.lastRoll());
+            assertEquals(original.lastTo(), restored.lastTo());
+        }
+        assertEquals(original.winner(), restored.winner());
+    }
+
+    @Test
+    public void replayReproducesLoggedGame() throws IOException {
+        Board board = new BoardGenerator().generate(new GameRandom(9));
+        GameEngine engine = new GameEngine(board, new SeededDice(77), 2);
+        File file = folder.newFile("game.replay");
+        try (ReplayLog.Writer log = new ReplayLog.Writer(file, GameSnapshot.of(engine))) {
+            while (!engine.step()) log.append(engine.lastRoll());
+            log.append(engine.lastRoll());
+        }
+
+        ReplayLog.Replay replay = ReplayLog.read(file);
+        assertEquals(engine.turnCount(), replay.rollCount());
+        GameEngine replayed = replay.play();
+        assertEquals(engine.winner(), replayed.winner());
+        assertEquals(engine.turnCount(), replayed.turnCount());
+        for (int seat = 0; seat < 2; seat++) assertEquals(engine.position(seat), replayed.position(seat));
+    }
+
+    @Test
+    public void resumedLogDropsRollsAfterTheSnapshot() throws IOException {
+        Board board = new BoardGenerator().generate(new GameRandom(13));
+        GameEngine engine = new GameEngine(board, new SeededDice(21), 2);
+        File file = folder.newFile("resumed.replay");
+        GameSnapshot saved;
+        try (ReplayLog.Writer log = new ReplayLog.Writer(file, GameSnapshot.of(engine))) {
+            for (int i = 0; i < 4; i++) {
+                engine.step();
+                log.append(engine.lastRoll());
+            }
+            saved = GameSnapshot.of(engine);
+            // Turns played after the snapshot, as by an activity that kept running after saving.
+            for (int i = 0; i < 3 && !engine.isOver(); i++) {
+                engine.step();
+                log.append(engine.lastRoll());
+            }
+        }
+
+        GameEngine restored = saved.restore();
+        try (ReplayLog.Writer log = ReplayLog.Writer.resume(file, saved)) {
+            while (!restored.step()) log.append(restored.lastRoll());
+            log.append(restored.lastRoll());
+        }
+
+        GameEngine replayed = ReplayLog.read(file).play();
+        assertEquals(restored.turnCount(), replayed.turnCount());
+        assertEquals(restored.winner(), replayed.winner());
+        for (int seat = 0; seat < 2; seat++) assertEquals(restored.position(seat), replayed.position(seat));
+    }
+
+    @Test
+    public void replayWithCorruptRollsIsRejected() throws IOException {
+        Board board = new BoardGenerator().generate(new GameRandom(12));
+        GameEngine engine = new GameEngine(board, new SeededDice(3), 2);
+        File file = folder.newFile("corrupt.replay");
+        for (int bad : new int[] {0, -1, Dice.FACES + 1}) {
+            try (ReplayLog.Writer log = new ReplayLog.Writer(file, GameSnapshot.of(engine))) {
+                log.append(3);
+                log.append(bad);
+            }
+            try {
+                ReplayLog.read(file);
+                fail("Expected roll " + bad + " to be rejected");
+            } catch (IOException expected) {
+                // Rejected while reading, before any move is played.
+            }
+        }
+
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(Arrays.copyOf(GameSnapshot.of(engine).toBytes(), 20));
+        }
+        try {
+            ReplayLog.read(file);
+            fail("Expected a truncated header to be rejected");
+        } catch (IOException expected) {
+            // The snapshot's IllegalArgumentException is reported as a corrupt log.
+        }
+    }
+
+    @Test
+    public void corruptSnapshotsAreRejected() {
+        Board board = new BoardGenerator().generate(new GameRandom(10));
+        GameEngine engine = new GameEngine(board, new SeededDice(5), 3);
+        engine.step();
+        byte[] bytes = GameSnapshot.of(engine).toBytes();
+
+        for (int length : new int[] {0, 3, 10, bytes.length - 40, bytes.length - 1}) {
+            assertRejected(Arrays.copyOf(bytes, length));
+        }
+        // Players, current seat, winner, then the first position (after the 22-byte header).
+        assertRejected(withByte(bytes, 5, 0));
+        assertRejected(withByte(bytes, 5, GameEngine.MAX_PLAYERS + 1));
+        assertRejected(withByte(bytes, 6, 3));
+        assertRejected(withByte(bytes, 6, -1));
+        assertRejected(withByte(bytes, 7, 3));
+        assertRejected(withByte(bytes, 7, -2));
+        assertRejected(withByte(bytes, 22, 0));
+        assertRejected(withByte(bytes, 22, 61));
+        // A jump off the end of the board.
+        assertRejected(withByte(bytes, 22 + 2 * 3 + 2 * 30, 99));
+    }
+
+    private static byte[] withByte(byte[] bytes, int index, int value) {
+        byte[] copy = bytes.clone();
+        copy[index] = (byte) value;
+        return copy;
+    }
+
+    private static void assertRejected(byte[] bytes) {
+        try {
+            GameSnapshot.fromBytes(bytes);
+            fail("Expected a corrupt " + bytes.length + "-byte snapshot to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // Rejected as corrupt rather than with a buffer or array error.
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.snakesandladders.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class MarkovSolverTest {
+
+    @Test
+    public void emptyBoardMatchesBackwardRecurrence() {
+        double[] expected = new double[61];
+        for (int s = 59; s >= 1; s--) {
+            double sum = 0;
+            for (int roll = 1; roll <= 6; roll++) sum += expected[Math.min(s + roll, 60)];
+            expected[s] = 1 + sum / 6;
+        }
+        double[] solved = new double[61];
+        new MarkovSolver().expectedTurnsFromEach(Board.empty(60), solved);
+        for (int s = 1; s <= 60; s++) assertEquals(expected[s], solved[s], 1e-9);
+    }
+
+    @Test
+    public void distributionMeanMatchesExpectedTurns() {
+        MarkovSolver solver = new MarkovSolver();
+        GameRandom rand = new GameRandom(3);
+        BoardGenerator generator = new BoardGenerator();
+        double[] pmf = new double[4000];
+        for (int n = 0; n < 50; n++) {
+            Board board = generator.generate(rand);
+            double tail = solver.finishingDistribution(board, pmf);
+            double mean = 0;
+            double mass = 0;
+            for (int t = 0; t < pmf.length; t++) {
+                mean += t * pmf[t];
+                mass += pmf[t];
+            }
+            assertEquals(1, mass + tail, 1e-9);
+            assertEquals(solver.expectedTurns(board), mean, 1e-6);
+        }
+    }
+
+    @Test
+    public void snakeBackToStartRaisesExpectedTurns() {
+        int[] table = Board.empty(60).copyJumpTable();
+        table[40] = 2;
+        double withSnake = new MarkovSolver().expectedTurns(new Board(60, table));
+        double without = new MarkovSolver().expectedTurns(Board.empty(60));
+        assertTrue(withSnake > without);
+    }
+
+    @Test
+    public void trapBoardIsRejected() {
+        int[] table = Board.empty(20).copyJumpTable();
+        for (int s = 11; s <= 16; s++) table[s] = 10 - (s - 11) % 2;
+        Board trap = new Board(20, table);
+        assertFalse(MarkovSolver.canFinishFromEverySquare(trap));
+        try {
+            new MarkovSolver(20).expectedTurns(trap);
+            fail("Expected the trap board to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // No square below 17 can get past the snakes.
+        }
+    }
+
+    @Test
+    public void largeGeneratedBoardsCanAlwaysBeFinished() {
+        BoardGenerator generator = new BoardGenerator(Board.MAX_TOTAL);
+        GameRandom rand = new GameRandom(11);
+        MarkovSolver solver = new MarkovSolver(Board.MAX_TOTAL);
+        for (int n = 0; n < 200; n++) {
+            Board board = generator.generate(rand);
+            assertTrue(MarkovSolver.canFinishFromEverySquare(board));
+        }
+        assertTrue(solver.expectedTurns(generator.generate(rand)) > 0);
+    }
+}
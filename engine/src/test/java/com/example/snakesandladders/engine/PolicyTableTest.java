@@ -0,0 +1,56 @@
+package com.example.snakesandladders.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PolicyTableTest {
+
+    // Ladder 10 -> 40 and snake 12 -> 2.
+    private static Board sampleBoard() {
+        int[] table = Board.empty(60).copyJumpTable();
+        table[10] = 40;
+        table[12] = 2;
+        return new Board(60, table);
+    }
+
+    @Test
+    public void choosesLadderAndAvoidsSnake() {
+        PolicyTable policy = PolicyTable.compute(sampleBoard(), RuleVariant.CHOOSE_DIE);
+        assertEquals(4, policy.chooseDie(6, 6, 4));
+        assertEquals(4, policy.chooseDie(8, 4, 6));
+    }
+
+    @Test
+    public void rerollsOffSnakeButKeepsLadder() {
+        PolicyTable policy = PolicyTable.compute(sampleBoard(), RuleVariant.REROLL_ONCE);
+        assertTrue(policy.reroll(9, 3));
+        assertFalse(policy.reroll(9, 1));
+    }
+
+    @Test
+    public void choicesShortenExpectedGame() {
+        Board board = new BoardGenerator().generate(new GameRandom(4));
+        double classic = PolicyTable.compute(board, RuleVariant.CLASSIC).expectedTurns(Board.START_SQUARE);
+        double twoDice = PolicyTable.compute(board, RuleVariant.CHOOSE_DIE).expectedTurns(Board.START_SQUARE);
+        double reroll = PolicyTable.compute(board, RuleVariant.REROLL_ONCE).expectedTurns(Board.START_SQUARE);
+        assertTrue(twoDice < classic);
+        assertTrue(reroll < classic);
+        assertEquals(new MarkovSolver().expectedTurns(board), classic, 1e-9);
+    }
+
+    @Test
+    public void analysisPolicyMatchesStandaloneSolve() {
+        Board board = new BoardGenerator().generate(new GameRandom(6));
+        for (RuleVariant variant : RuleVariant.values()) {
+            BoardAnalysis analysis = BoardAnalysis.compute(board, variant);
+            PolicyTable alone = PolicyTable.compute(board, variant);
+            for (int square = 1; square <= board.total(); square++) {
+                assertEquals(alone.expectedTurns(square), analysis.policy().expectedTurns(square), 1e-12);
+            }
+            assertEquals(new MarkovSolver().expectedTurns(board), analysis.expectedTurns(), 1e-9);
+        }
+    }
+}
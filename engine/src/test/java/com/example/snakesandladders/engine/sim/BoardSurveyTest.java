@@ -0,0 +1,76 @@
+package com.example.snakesandladders.engine.sim;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.snakesandladders.engine.AnalysisCache;
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.RuleVariant;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class BoardSurveyTest {
+
+    @Test
+    public void enumerationVisitsEveryLayoutOnce() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BoardSurvey survey = new BoardSurvey(pool, new AnalysisCache(16, RuleVariant.CLASSIC));
+            // The empty board, plus each of 10 start squares joined to one of 9 other squares in 2..11.
+            BoardSurvey.Summary one = survey.enumerate(12, 1);
+            assertEquals(1 + 10 * 9, one.boards);
+            assertEquals(one.boards, one.distinct);
+
+            BoardSurvey.Summary two = survey.enumerate(12, 2);
+            assertEquals(two.boards, two.distinct);
+            assertTrue(two.boards > one.boards);
+            assertTrue(two.minTurns < one.maxTurns);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void samplingRepeatsForASeedAndReusesAnalyses() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool quad = new ForkJoinPool(4);
+        try {
+            BoardGenerator generator = new BoardGenerator(36);
+            BoardSurvey.Summary a = new BoardSurvey(single, new AnalysisCache(256, RuleVariant.CLASSIC))
+                    .sample(generator, 5_000, 8);
+            AnalysisCache shared = new AnalysisCache(100_000, RuleVariant.CLASSIC);
+            BoardSurvey.Summary b = new BoardSurvey(quad, shared).sample(generator, 5_000, 8);
+            assertEquals(5_000, a.boards);
+            assertEquals(a.distinct, b.distinct);
+            assertEquals(a.sumTurns, b.sumTurns, 1e-6);
+            assertTrue(a.distinct <= a.boards);
+
+            // A repeated sweep finds every layout in the cache and solves nothing.
+            long misses = shared.misses();
+            BoardSurvey.Summary again = new BoardSurvey(quad, shared).sample(generator, 5_000, 8);
+            assertEquals(b.sumTurns, again.sumTurns, 1e-6);
+            assertEquals(misses, shared.misses());
+        } finally {
+            single.shutdown();
+            quad.shutdown();
+        }
+    }
+
+    @Test
+    public void smallSeenMemoOvercountsOnlyPastItsCapacity() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            AnalysisCache analyses = new AnalysisCache(100_000, RuleVariant.CLASSIC);
+            BoardGenerator generator = new BoardGenerator(36);
+            BoardSurvey.Summary exact = new BoardSurvey(pool, analyses).sample(generator, 2_000, 4);
+            BoardSurvey.Summary bounded = new BoardSurvey(pool, analyses, 8).sample(generator, 2_000, 4);
+            assertEquals(exact.boards, bounded.boards);
+            assertTrue(bounded.distinct >= exact.distinct);
+            assertTrue(bounded.distinct <= bounded.boards);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.snakesandladders.engine.sim;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.BoardGenerator;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class MonteCarloSimulatorTest {
+
+    @Test
+    public void sameSeedGivesSameCountsOnAnyPoolSize() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool quad = new ForkJoinPool(4);
+        try {
+            BoardGenerator generator = new BoardGenerator();
+            SimulationResult a = new MonteCarloSimulator(single, 2).runGenerated(generator, 100_000, 99);
+            SimulationResult b = new MonteCarloSimulator(quad, 2).runGenerated(generator, 100_000, 99);
+            assertEquals(100_000, a.games());
+            assertEquals(a.wins(0), b.wins(0));
+            assertEquals(a.wins(1), b.wins(1));
+            assertEquals(a.meanLength(), b.meanLength(), 0);
+            assertEquals(a.games() - a.unfinished(), a.wins(0) + a.wins(1));
+        } finally {
+            single.shutdown();
+            quad.shutdown();
+        }
+    }
+
+    @Test
+    public void emptyBoardNeverHitsFeaturesAndFirstSeatLeads() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            SimulationResult result = new MonteCarloSimulator(pool, 2).run(Board.empty(60), 50_000, 1);
+            for (int square = 1; square <= 60; square++) {
+                assertEquals(0, result.ladderHits(square) + result.snakeHits(square));
+            }
+            assertEquals(0, result.unfinished());
+            assertTrue(result.winRate(0) > result.winRate(1));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
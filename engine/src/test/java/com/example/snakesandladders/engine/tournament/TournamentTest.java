@@ -0,0 +1,75 @@
+package com.example.snakesandladders.engine.tournament;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.RuleVariant;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class TournamentTest {
+
+    private static final List<Entrant> ENTRANTS = Arrays.asList(Entrant.randomRoll(), Entrant.greedy(), Entrant.policy());
+
+    @Test
+    public void standingsDoNotDependOnPoolSize() throws IOException {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool quad = new ForkJoinPool(4);
+        try {
+            Standings a = new Tournament(single, ENTRANTS, RuleVariant.REROLL_ONCE)
+                    .run(new BoardGenerator(), 8, 500, 21, ResultSink.NONE);
+            Standings b = new Tournament(quad, ENTRANTS, RuleVariant.REROLL_ONCE)
+                    .run(new BoardGenerator(), 8, 500, 21, ResultSink.NONE);
+            assertEquals(3 * 8 * 500, a.totalGames());
+            for (int x = 0; x < 3; x++) {
+                for (int y = 0; y < 3; y++) assertEquals(a.wins(x, y), b.wins(x, y));
+            }
+        } finally {
+            single.shutdown();
+            quad.shutdown();
+        }
+    }
+
+    @Test
+    public void policyOutratesRandomRollAndEveryGameIsStreamed() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        StringWriter csv = new StringWriter();
+        try (CsvResultSink sink = new CsvResultSink(csv)) {
+            Tournament tournament = new Tournament(pool, ENTRANTS, RuleVariant.CHOOSE_DIE);
+            Standings standings = tournament.run(new BoardGenerator(), 20, 1000, 5, sink);
+            EloRatings ratings = EloRatings.fit(standings);
+            assertTrue(ratings.rating(2) - ratings.halfInterval(2) > ratings.rating(0) + ratings.halfInterval(0));
+            assertEquals(EloRatings.MEAN_RATING * 3, ratings.rating(0) + ratings.rating(1) + ratings.rating(2), 1e-6);
+        } finally {
+            pool.shutdown();
+        }
+        long lines = csv.toString().chars().filter(c -> c == '\n').count();
+        assertEquals(1 + 3 * 20 * 1000, lines);
+    }
+
+    @Test
+    public void binaryRecordsKeepLargeBoardIndexes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryResultSink sink = new BinaryResultSink(out)) {
+            sink.record(5_000_000_000L, 70_000, 1, 2, ResultSink.DRAW, 40_000);
+        }
+        ByteBuffer record = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(BinaryResultSink.RECORD_BYTES, record.remaining());
+        assertEquals(5_000_000_000L, record.getLong());
+        assertEquals(70_000, record.getInt());
+        assertEquals(40_000, record.getInt());
+        assertEquals(1, record.get());
+        assertEquals(2, record.get());
+        assertEquals(ResultSink.DRAW, record.get());
+    }
+}
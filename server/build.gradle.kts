@@ -0,0 +1,41 @@
+plugins {
+    application
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    implementation(project(":engine"))
+    testImplementation(libs.junit)
+}
+
+// ./gradlew :server:run -Pport=7777 -Ploops=4
+application {
+    mainClass.set("com.example.snakesandladders.server.GameServer")
+}
+
+tasks.named<JavaExec>("run") {
+    args(
+        providers.gradleProperty("port").getOrElse("7777"),
+        providers.gradleProperty("loops").getOrElse(Runtime.getRuntime().availableProcessors().toString())
+    )
+}
+
+// Plays many friend matches against a running server, e.g.
+// ./gradlew :server:loadTest -Pmatches=10000 -Pplayers=2 -Pport=7777
+tasks.register<JavaExec>("loadTest") {
+    group = "application"
+    description = "Connects simulated players to a game server and reports match throughput and turn latency."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.snakesandladders.server.LoadGenerator")
+    args(
+        providers.gradleProperty("host").getOrElse("127.0.0.1"),
+        providers.gradleProperty("port").getOrElse("7777"),
+        providers.gradleProperty("matches").getOrElse("10000"),
+        providers.gradleProperty("players").getOrElse("2"),
+        providers.gradleProperty("threads").getOrElse("4")
+    )
+}
@@ -0,0 +1,38 @@
+package com.example.snakesandladders.server;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+// One client socket. Owned by exactly one event loop at a time; moving to another loop hands
+// the whole object over through that loop's task queue.
+final class Connection {
+
+    private static final int INPUT_BYTES = 256;
+    private static final int OUTPUT_BYTES = 256;
+
+    final SocketChannel channel;
+    final ByteBuffer in = Protocol.newBuffer(INPUT_BYTES);
+    ByteBuffer out = Protocol.newBuffer(OUTPUT_BYTES);
+    SelectionKey key;
+    EventLoop loop;
+    Match match;
+    int seat;
+    // Set while the connection is queued for a flush at the end of the loop iteration.
+    boolean flushPending;
+
+    Connection(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    // Makes room for a message of the given size in the output buffer.
+    ByteBuffer output(int bytes) {
+        if (out.remaining() < bytes) {
+            ByteBuffer bigger = Protocol.newBuffer(Math.max(out.capacity() * 2, out.position() + bytes));
+            out.flip();
+            bigger.put(out);
+            out = bigger;
+        }
+        return out;
+    }
+}
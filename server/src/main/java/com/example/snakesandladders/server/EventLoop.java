@@ -0,0 +1,376 @@
+package com.example.snakesandladders.server;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.GameEngine;
+import com.example.snakesandladders.engine.GameRandom;
+import com.example.snakesandladders.engine.SeededDice;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Single-threaded selector loop that owns a set of connections and the matches created on it.
+// Matches never span loops: a player joining a match hosted elsewhere is handed to that loop.
+// Replies are buffered while a batch of ready keys is handled and written once per iteration.
+final class EventLoop implements Runnable {
+
+    private final GameServer server;
+    private final int index;
+    private final Selector selector;
+    private final GameRandom random;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final List<Connection> toFlush = new ArrayList<>();
+    // Live matches by id. An id is serial * loopCount + index, so any loop can find a match's owner,
+    // and serials only go up, so a JOIN for a match that has ended cannot land in a newer one.
+    private final Map<Integer, Match> matches = new HashMap<>();
+    private int nextSerial;
+    private int liveMatches;
+    private ServerSocketChannel acceptor;
+    private volatile boolean closed;
+
+    EventLoop(GameServer server, int index, long seed) throws IOException {
+        this.server = server;
+        this.index = index;
+        this.selector = Selector.open();
+        this.random = new GameRandom(seed);
+    }
+
+    // Runs a task on this loop's thread.
+    void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    // Makes this loop accept new connections for the whole server.
+    void acceptFrom(ServerSocketChannel channel) throws ClosedChannelException {
+        acceptor = channel;
+        channel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    int liveMatches() {
+        return liveMatches;
+    }
+
+    void close() {
+        closed = true;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!closed) {
+                selector.select();
+                runTasks();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection c = (Connection) key.attachment();
+                    if (key.isReadable()) read(c);
+                    if (key.isValid() && key.isWritable()) write(c);
+                }
+                flushAll();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Event loop " + index + " failed", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                try {
+                    key.channel().close();
+                } catch (IOException ignored) {
+                    // Shutting down anyway.
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // Shutting down anyway.
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) task.run();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = acceptor.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Connection c = new Connection(channel);
+            EventLoop target = server.nextLoop();
+            if (target == this) {
+                adopt(c);
+            } else {
+                target.execute(() -> target.adopt(c));
+            }
+        }
+    }
+
+    // Registers a connection handed to this loop and handles any input it already buffered.
+    private void adopt(Connection c) {
+        c.loop = this;
+        int ops = c.out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        try {
+            c.key = c.channel.register(selector, ops, c);
+        } catch (ClosedChannelException e) {
+            return;
+        }
+        if (c.in.position() > 0) handleInput(c);
+    }
+
+    private void read(Connection c) {
+        int n;
+        try {
+            n = c.channel.read(c.in);
+        } catch (IOException e) {
+            n = -1;
+        }
+        if (n < 0) {
+            disconnect(c);
+            return;
+        }
+        handleInput(c);
+    }
+
+    // Handles every complete frame in the input buffer. Stops early if the connection moved to another loop.
+    private void handleInput(Connection c) {
+        ByteBuffer in = c.in;
+        in.flip();
+        while (in.remaining() >= Protocol.HEADER_BYTES) {
+            int length = in.getShort(in.position()) & 0xFFFF;
+            if (length == 0 || length > in.capacity() - Protocol.HEADER_BYTES) {
+                in.clear();
+                error(c, Protocol.ERROR_BAD_MESSAGE);
+                return;
+            }
+            if (in.remaining() < Protocol.HEADER_BYTES + length) break;
+            int start = in.position();
+            in.position(start + Protocol.HEADER_BYTES);
+            boolean stay = handle(c, in.get(), in, length - 1);
+            if (!stay) {
+                // Leave the frame unread so the new owner handles it.
+                in.position(start);
+                in.compact();
+                handOff(c);
+                return;
+            }
+            in.position(start + Protocol.HEADER_BYTES + length);
+        }
+        in.compact();
+    }
+
+    // Moves a connection to the loop stored in c.loop. From here on only that loop touches it.
+    private void handOff(Connection c) {
+        EventLoop owner = c.loop;
+        c.key.cancel();
+        if (c.flushPending) {
+            c.flushPending = false;
+            toFlush.remove(c);
+        }
+        flush(c);
+        owner.execute(() -> owner.adopt(c));
+    }
+
+    // Handles one message. Returns false when the connection has to move to another loop.
+    private boolean handle(Connection c, byte type, ByteBuffer in, int length) {
+        switch (type) {
+            case Protocol.CREATE:
+                if (length != 1) {
+                    error(c, Protocol.ERROR_BAD_MESSAGE);
+                } else {
+                    create(c, in.get());
+                }
+                return true;
+            case Protocol.JOIN:
+                if (length != 4) {
+                    error(c, Protocol.ERROR_BAD_MESSAGE);
+                    return true;
+                }
+                return join(c, in.getInt());
+            case Protocol.ROLL:
+                roll(c);
+                return true;
+            default:
+                error(c, Protocol.ERROR_BAD_MESSAGE);
+                return true;
+        }
+    }
+
+    private void create(Connection c, int players) {
+        if (c.match != null) {
+            error(c, Protocol.ERROR_ALREADY_IN_MATCH);
+            return;
+        }
+        if (players < 1 || players > GameEngine.MAX_PLAYERS) {
+            error(c, Protocol.ERROR_BAD_MESSAGE);
+            return;
+        }
+        Board board = server.board(random.nextInt(server.boardCount()));
+        GameEngine engine = new GameEngine(board, new SeededDice(random.split()), players);
+        Match match = new Match(nextMatchId(), engine);
+        matches.put(match.id, match);
+        liveMatches++;
+        seat(c, match);
+    }
+
+    // Returns the next unused id owned by this loop. Serials wrap only once the id space is spent.
+    private int nextMatchId() {
+        int loops = server.loopCount();
+        int id;
+        do {
+            if (nextSerial > (Integer.MAX_VALUE - index) / loops) nextSerial = 0;
+            id = nextSerial++ * loops + index;
+        } while (matches.containsKey(id));
+        return id;
+    }
+
+    private boolean join(Connection c, int id) {
+        if (c.match != null) {
+            error(c, Protocol.ERROR_ALREADY_IN_MATCH);
+            return true;
+        }
+        if (id < 0) {
+            error(c, Protocol.ERROR_NO_SUCH_MATCH);
+            return true;
+        }
+        EventLoop owner = server.loop(id % server.loopCount());
+        if (owner != this) {
+            c.loop = owner;
+            return false;
+        }
+        Match match = matches.get(id);
+        if (match == null) {
+            error(c, Protocol.ERROR_NO_SUCH_MATCH);
+        } else if (match.isFull()) {
+            error(c, Protocol.ERROR_MATCH_FULL);
+        } else {
+            seat(c, match);
+        }
+        return true;
+    }
+
+    private void seat(Connection c, Match match) {
+        int seat = match.joined++;
+        match.seats[seat] = c;
+        c.match = match;
+        c.seat = seat;
+        Protocol.putJoined(c.output(11), match.id, seat, match.seats.length);
+        queueFlush(c);
+        if (match.isFull()) {
+            Board board = match.engine.board();
+            int bytes = Protocol.startBytes(board);
+            for (Connection player : match.seats) {
+                Protocol.putStart(player.output(bytes), board);
+                queueFlush(player);
+            }
+        }
+    }
+
+    private void roll(Connection c) {
+        Match match = c.match;
+        if (match == null || !match.isFull()) {
+            error(c, Protocol.ERROR_NOT_STARTED);
+            return;
+        }
+        GameEngine engine = match.engine;
+        if (engine.currentSeat() != c.seat) {
+            error(c, Protocol.ERROR_NOT_YOUR_TURN);
+            return;
+        }
+        boolean won = engine.step();
+        int next = won ? Protocol.NO_NEXT : engine.currentSeat();
+        for (Connection player : match.seats) {
+            Protocol.putTurn(player.output(Protocol.TURN_BYTES), c.seat, engine.lastRoll(),
+                    engine.lastLanding(), engine.lastTo(), next);
+            queueFlush(player);
+        }
+        if (won) end(match);
+    }
+
+    private void end(Match match) {
+        for (Connection player : match.seats) {
+            if (player != null) player.match = null;
+        }
+        matches.remove(match.id);
+        liveMatches--;
+    }
+
+    private void disconnect(Connection c) {
+        c.key.cancel();
+        try {
+            c.channel.close();
+        } catch (IOException ignored) {
+            // Already gone.
+        }
+        Match match = c.match;
+        if (match == null) return;
+        match.seats[c.seat] = null;
+        for (Connection player : match.seats) {
+            if (player == null) continue;
+            Protocol.putAbandoned(player.output(3));
+            queueFlush(player);
+        }
+        end(match);
+    }
+
+    private void error(Connection c, byte code) {
+        Protocol.putError(c.output(4), code);
+        queueFlush(c);
+    }
+
+    private void queueFlush(Connection c) {
+        if (c.flushPending) return;
+        c.flushPending = true;
+        toFlush.add(c);
+    }
+
+    private void flushAll() {
+        for (int i = 0; i < toFlush.size(); i++) {
+            Connection c = toFlush.get(i);
+            c.flushPending = false;
+            if (c.key.isValid()) flush(c);
+        }
+        toFlush.clear();
+    }
+
+    // Writes as much buffered output as the socket takes; waits for OP_WRITE if some is left.
+    private void flush(Connection c) {
+        ByteBuffer out = c.out;
+        if (out.position() == 0) return;
+        out.flip();
+        try {
+            c.channel.write(out);
+        } catch (IOException e) {
+            out.clear();
+            disconnect(c);
+            return;
+        }
+        out.compact();
+        if (!c.key.isValid()) return;
+        int ops = out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (c.key.interestOps() != ops) c.key.interestOps(ops);
+    }
+
+    private void write(Connection c) {
+        flush(c);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.snakesandladders.server;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.BoardGenerator;
+import com.example.snakesandladders.engine.GameRandom;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Headless friend-match server. A few event loops each own a share of the connections and the
+// matches created on them; loop 0 also accepts and deals new connections round-robin. Boards
+// come from a shared pool generated at startup, so a match costs an engine and a seat array.
+public final class GameServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 7777;
+    private static final int BOARD_POOL = 256;
+
+    private final ServerSocketChannel acceptor;
+    private final EventLoop[] loops;
+    private final Thread[] threads;
+    private final Board[] boards = new Board[BOARD_POOL];
+    private final AtomicInteger nextLoop = new AtomicInteger();
+
+    private GameServer(InetSocketAddress address, int loopCount, long seed) throws IOException {
+        GameRandom random = new GameRandom(seed);
+        BoardGenerator generator = new BoardGenerator();
+        for (int i = 0; i < boards.length; i++) boards[i] = generator.generate(random);
+
+        acceptor = ServerSocketChannel.open();
+        acceptor.bind(address, 1024);
+        acceptor.configureBlocking(false);
+        loops = new EventLoop[loopCount];
+        threads = new Thread[loopCount];
+        for (int i = 0; i < loopCount; i++) loops[i] = new EventLoop(this, i, random.nextLong());
+        loops[0].acceptFrom(acceptor);
+        for (int i = 0; i < loopCount; i++) {
+            threads[i] = new Thread(loops[i], "server-loop-" + i);
+            threads[i].start();
+        }
+    }
+
+    // Binds to the address (port 0 picks a free port) and starts the event loops.
+    public static GameServer start(InetSocketAddress address, int loops, long seed) throws IOException {
+        if (loops < 1) throw new IllegalArgumentException("loops must be at least 1");
+        return new GameServer(address, loops, seed);
+    }
+
+    public int port() {
+        return acceptor.socket().getLocalPort();
+    }
+
+    int loopCount() {
+        return loops.length;
+    }
+
+    EventLoop loop(int index) {
+        return loops[index];
+    }
+
+    EventLoop nextLoop() {
+        return loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+    }
+
+    int boardCount() {
+        return boards.length;
+    }
+
+    Board board(int index) {
+        return boards[index];
+    }
+
+    // Stops the loops and closes every socket.
+    @Override
+    public void close() throws IOException {
+        for (EventLoop loop : loops) loop.close();
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        acceptor.close();
+    }
+
+    // Command line entry point: GameServer [port] [loops].
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int loops = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        GameServer server = start(new InetSocketAddress(port), loops, System.nanoTime());
+        System.out.printf("listening on port %d with %d loops%n", server.port(), loops);
+    }
+}
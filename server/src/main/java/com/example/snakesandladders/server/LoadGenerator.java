@@ -0,0 +1,340 @@
+package com.example.snakesandladders.server;
+
+import com.example.snakesandladders.engine.Board;
+import com.example.snakesandladders.engine.GameEngine;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+// Load-generating client. Each worker thread drives its share of matches over non-blocking
+// sockets: the first player creates a match, the others join it, and every player rolls when
+// the server says it is their turn. Each player rebuilds the board from START and checks every
+// turn delta against it, so a wrong or out-of-order move counts as a failed match.
+public final class LoadGenerator {
+
+    // New matches opened per worker per select pass, so connects don't all hit the backlog at once.
+    private static final int START_BATCH = 64;
+    private static final long STALL_NANOS = 30_000_000_000L;
+
+    // Totals for one run.
+    public static final class Report {
+        public int completed;
+        public int failed;
+        public long turns;
+        public long elapsedNanos;
+        public long latencyNanos;
+        public long maxLatencyNanos;
+        public int peakMatches;
+
+        private void add(Report other) {
+            completed += other.completed;
+            failed += other.failed;
+            turns += other.turns;
+            latencyNanos += other.latencyNanos;
+            maxLatencyNanos = Math.max(maxLatencyNanos, other.maxLatencyNanos);
+            peakMatches += other.peakMatches;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format(Locale.US,
+                    "matches=%d failed=%d peak=%d turns=%d elapsed=%.2fs (%.0f turns/s) latency mean=%.0fus max=%.0fus",
+                    completed, failed, peakMatches, turns, seconds, turns / seconds,
+                    turns == 0 ? 0 : latencyNanos / 1e3 / turns, maxLatencyNanos / 1e3);
+        }
+    }
+
+    private LoadGenerator() {
+    }
+
+    // Plays the given number of matches against a server and waits until all of them ended.
+    public static Report run(InetSocketAddress address, int matches, int players, int threads)
+            throws IOException, InterruptedException {
+        if (players < 1 || players > GameEngine.MAX_PLAYERS) {
+            throw new IllegalArgumentException("A match takes 1 to " + GameEngine.MAX_PLAYERS + " players: " + players);
+        }
+        Worker[] workers = new Worker[threads];
+        Thread[] running = new Thread[threads];
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            int share = matches / threads + (i < matches % threads ? 1 : 0);
+            workers[i] = new Worker(address, share, players);
+            running[i] = new Thread(workers[i], "load-" + i);
+            running[i].start();
+        }
+        Report report = new Report();
+        for (int i = 0; i < threads; i++) {
+            running[i].join();
+            if (workers[i].error != null) throw workers[i].error;
+            report.add(workers[i].report);
+        }
+        report.elapsedNanos = System.nanoTime() - startNanos;
+        return report;
+    }
+
+    // Command line entry point: LoadGenerator [host] [port] [matches] [players] [threads].
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String host = args.length > 0 ? args[0] : "127.0.0.1";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        int matches = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int players = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+        System.out.println(run(new InetSocketAddress(host, port), matches, players, threads));
+    }
+
+    private static final class SimMatch {
+        final Client[] clients;
+        int id = -1;
+        int finished;
+        boolean over;
+
+        SimMatch(int players) {
+            clients = new Client[players];
+        }
+    }
+
+    private static final class Client {
+        final SimMatch match;
+        final int index;
+        final SocketChannel channel;
+        final ByteBuffer in = Protocol.newBuffer(Protocol.HEADER_BYTES + Protocol.MAX_PAYLOAD);
+        final ByteBuffer out = Protocol.newBuffer(64);
+        SelectionKey key;
+        boolean connected;
+        int seat = -1;
+        Board board;
+        int[] positions;
+        int expectedSeat;
+        long rollSentAt;
+
+        Client(SimMatch match, int index, SocketChannel channel) {
+            this.match = match;
+            this.index = index;
+            this.channel = channel;
+        }
+    }
+
+    private static final class Worker implements Runnable {
+        private final InetSocketAddress address;
+        private final int matches;
+        private final int players;
+        private final Report report = new Report();
+        private Selector selector;
+        private int started;
+        private int live;
+        private long lastProgress;
+        private IOException error;
+
+        Worker(InetSocketAddress address, int matches, int players) {
+            this.address = address;
+            this.matches = matches;
+            this.players = players;
+        }
+
+        @Override
+        public void run() {
+            List<SimMatch> open = new ArrayList<>();
+            try {
+                selector = Selector.open();
+                lastProgress = System.nanoTime();
+                while (report.completed + report.failed < matches) {
+                    for (int i = 0; i < START_BATCH && started < matches; i++) open.add(startMatch());
+                    report.peakMatches = Math.max(report.peakMatches, live);
+                    selector.select(100);
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        if (key.isValid()) handle((Client) key.attachment(), key);
+                    }
+                    if (System.nanoTime() - lastProgress > STALL_NANOS) {
+                        for (SimMatch match : open) fail(match);
+                    }
+                    if (open.size() > 4 * START_BATCH) open.removeIf(match -> match.over);
+                }
+            } catch (IOException e) {
+                error = e;
+                for (SimMatch match : open) fail(match);
+            } finally {
+                try {
+                    if (selector != null) selector.close();
+                } catch (IOException ignored) {
+                    // Done anyway.
+                }
+            }
+        }
+
+        private SimMatch startMatch() throws IOException {
+            started++;
+            live++;
+            SimMatch match = new SimMatch(players);
+            for (int i = 0; i < players; i++) {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Client client = new Client(match, i, channel);
+                match.clients[i] = client;
+                client.key = channel.register(selector, SelectionKey.OP_CONNECT, client);
+                if (channel.connect(address)) connected(client);
+            }
+            return match;
+        }
+
+        private void handle(Client client, SelectionKey key) {
+            try {
+                if (key.isConnectable() && client.channel.finishConnect()) connected(client);
+                if (key.isValid() && key.isReadable()) read(client);
+                if (key.isValid() && key.isWritable()) flush(client);
+            } catch (IOException e) {
+                fail(client.match);
+            }
+        }
+
+        private void connected(Client client) throws IOException {
+            client.connected = true;
+            client.key.interestOps(SelectionKey.OP_READ);
+            if (client.index == 0) {
+                Protocol.putCreate(client.out, players);
+                flush(client);
+            } else if (client.match.id >= 0) {
+                Protocol.putJoin(client.out, client.match.id);
+                flush(client);
+            }
+        }
+
+        private void read(Client client) throws IOException {
+            ByteBuffer in = client.in;
+            if (client.channel.read(in) < 0) {
+                fail(client.match);
+                return;
+            }
+            in.flip();
+            while (in.remaining() >= Protocol.HEADER_BYTES && !client.match.over) {
+                int length = in.getShort(in.position()) & 0xFFFF;
+                if (in.remaining() < Protocol.HEADER_BYTES + length) break;
+                int end = in.position() + Protocol.HEADER_BYTES + length;
+                in.position(in.position() + Protocol.HEADER_BYTES);
+                lastProgress = System.nanoTime();
+                if (!message(client, in.get(), in)) {
+                    fail(client.match);
+                    return;
+                }
+                in.position(end);
+            }
+            in.compact();
+        }
+
+        // Handles one server message. Returns false when it breaks the protocol or the rules.
+        private boolean message(Client client, byte type, ByteBuffer in) throws IOException {
+            SimMatch match = client.match;
+            switch (type) {
+                case Protocol.JOINED:
+                    int id = in.getInt();
+                    client.seat = in.get() & 0xFF;
+                    if ((in.get() & 0xFF) != players || (client.index == 0 && client.seat != 0)) return false;
+                    if (client.index == 0) {
+                        match.id = id;
+                        for (Client other : match.clients) {
+                            if (other.index == 0 || !other.connected) continue;
+                            Protocol.putJoin(other.out, id);
+                            flush(other);
+                        }
+                    }
+                    return id == match.id;
+                case Protocol.START:
+                    client.board = Protocol.readStart(in);
+                    client.positions = new int[players];
+                    Arrays.fill(client.positions, Board.START_SQUARE);
+                    if (client.seat == 0) roll(client);
+                    return true;
+                case Protocol.TURN:
+                    return turn(client, in);
+                default:
+                    return false;
+            }
+        }
+
+        private boolean turn(Client client, ByteBuffer in) throws IOException {
+            int seat = in.get() & 0xFF;
+            int roll = in.get() & 0xFF;
+            int landing = in.getShort() & 0xFFFF;
+            int to = in.getShort() & 0xFFFF;
+            int next = in.get() & 0xFF;
+            Board board = client.board;
+            if (board == null || seat != client.expectedSeat || roll < 1 || roll > 6) return false;
+            int from = client.positions[seat];
+            if (landing != Math.min(from + roll, board.total()) || to != board.destination(landing)) return false;
+            boolean won = to == board.total();
+            if (won != (next == Protocol.NO_NEXT)) return false;
+            client.positions[seat] = to;
+
+            if (seat == client.seat) {
+                long latency = System.nanoTime() - client.rollSentAt;
+                report.turns++;
+                report.latencyNanos += latency;
+                report.maxLatencyNanos = Math.max(report.maxLatencyNanos, latency);
+            }
+            if (won) {
+                finish(client);
+                return true;
+            }
+            if (next != (seat + 1) % players) return false;
+            client.expectedSeat = next;
+            if (next == client.seat) roll(client);
+            return true;
+        }
+
+        private void roll(Client client) throws IOException {
+            Protocol.putRoll(client.out);
+            client.rollSentAt = System.nanoTime();
+            flush(client);
+        }
+
+        private void flush(Client client) throws IOException {
+            ByteBuffer out = client.out;
+            out.flip();
+            client.channel.write(out);
+            out.compact();
+            int ops = out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+            if (client.key.interestOps() != ops) client.key.interestOps(ops);
+        }
+
+        private void finish(Client client) {
+            close(client);
+            SimMatch match = client.match;
+            if (++match.finished == match.clients.length) {
+                match.over = true;
+                live--;
+                report.completed++;
+            }
+        }
+
+        private void fail(SimMatch match) {
+            if (match.over) return;
+            match.over = true;
+            live--;
+            report.failed++;
+            for (Client client : match.clients) close(client);
+        }
+
+        private static void close(Client client) {
+            client.key.cancel();
+            try {
+                client.channel.close();
+            } catch (IOException ignored) {
+                // Already gone.
+            }
+        }
+    }
+}
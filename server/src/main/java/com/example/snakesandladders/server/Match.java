@@ -0,0 +1,23 @@
+package com.example.snakesandladders.server;
+
+import com.example.snakesandladders.engine.GameEngine;
+
+// A friend match hosted by one event loop. The board is shared from the server's pool, so a
+// match only holds its engine (positions and dice state) and its players' connections.
+final class Match {
+
+    final int id;
+    final GameEngine engine;
+    final Connection[] seats;
+    int joined;
+
+    Match(int id, GameEngine engine) {
+        this.id = id;
+        this.engine = engine;
+        this.seats = new Connection[engine.playerCount()];
+    }
+
+    boolean isFull() {
+        return joined == seats.length;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.snakesandladders.server;
+
+import com.example.snakesandladders.engine.Board;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Wire format shared by the server and the load generator. Every message is a frame of a
+// little-endian u16 payload length followed by the payload, whose first byte is the type.
+//
+// Client to server:
+//   CREATE  players u8                 opens a match and takes seat 0
+//   JOIN    match i32                  takes the next free seat of a match
+//   ROLL                               rolls and moves for the caller's seat
+// Server to client:
+//   JOINED  match i32, seat u8, players u8
+//   START   total u16, features u8, (start u16, end u16) * features    sent once when the match fills
+//   TURN    seat u8, roll u8, landing u16, to u16, next u8             next is NO_NEXT when the move won
+//   ERROR   code u8
+//   ABANDONED                          another player disconnected; the match is gone
+//
+// A turn is a delta: clients already know where the seat stood, so the roll, the square it
+// landed on and the square it ended on after any snake or ladder describe the whole move.
+final class Protocol {
+
+    static final int HEADER_BYTES = 2;
+    static final int MAX_PAYLOAD = 1024;
+
+    static final byte CREATE = 1;
+    static final byte JOIN = 2;
+    static final byte ROLL = 3;
+
+    static final byte JOINED = 10;
+    static final byte START = 11;
+    static final byte TURN = 12;
+    static final byte ERROR = 13;
+    static final byte ABANDONED = 14;
+
+    static final int NO_NEXT = 0xFF;
+
+    static final byte ERROR_BAD_MESSAGE = 1;
+    static final byte ERROR_NO_SUCH_MATCH = 2;
+    static final byte ERROR_MATCH_FULL = 3;
+    static final byte ERROR_NOT_STARTED = 4;
+    static final byte ERROR_NOT_YOUR_TURN = 5;
+    static final byte ERROR_ALREADY_IN_MATCH = 6;
+
+    static final int TURN_BYTES = HEADER_BYTES + 8;
+
+    private Protocol() {
+    }
+
+    static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static void putCreate(ByteBuffer out, int players) {
+        out.putShort((short) 2).put(CREATE).put((byte) players);
+    }
+
+    static void putJoin(ByteBuffer out, int match) {
+        out.putShort((short) 5).put(JOIN).putInt(match);
+    }
+
+    static void putRoll(ByteBuffer out) {
+        out.putShort((short) 1).put(ROLL);
+    }
+
+    static void putJoined(ByteBuffer out, int match, int seat, int players) {
+        out.putShort((short) 7).put(JOINED).putInt(match).put((byte) seat).put((byte) players);
+    }
+
+    static int startBytes(Board board) {
+        return HEADER_BYTES + 4 + 4 * featureCount(board);
+    }
+
+    static void putStart(ByteBuffer out, Board board) {
+        int features = featureCount(board);
+        out.putShort((short) (4 + 4 * features)).put(START).putShort((short) board.total()).put((byte) features);
+        for (int square = board.nextOccupied(1); square != -1; square = board.nextOccupied(square + 1)) {
+            int end = board.destination(square);
+            if (end != square) out.putShort((short) square).putShort((short) end);
+        }
+    }
+
+    // Rebuilds the board from a START payload positioned after its type byte.
+    static Board readStart(ByteBuffer in) {
+        int total = in.getShort() & 0xFFFF;
+        int features = in.get() & 0xFF;
+        int[] table = Board.empty(total).copyJumpTable();
+        for (int i = 0; i < features; i++) {
+            int start = in.getShort() & 0xFFFF;
+            table[start] = in.getShort() & 0xFFFF;
+        }
+        return new Board(total, table);
+    }
+
+    static void putTurn(ByteBuffer out, int seat, int roll, int landing, int to, int next) {
+        out.putShort((short) 8).put(TURN).put((byte) seat).put((byte) roll)
+           .putShort((short) landing).putShort((short) to).put((byte) next);
+    }
+
+    static void putError(ByteBuffer out, byte code) {
+        out.putShort((short) 2).put(ERROR).put(code);
+    }
+
+    static void putAbandoned(ByteBuffer out) {
+        out.putShort((short) 1).put(ABANDONED);
+    }
+
+    private static int featureCount(Board board) {
+        return board.ladderCount() + board.snakeCount();
+    }
+}
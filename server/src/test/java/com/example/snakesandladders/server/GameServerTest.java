@@ -0,0 +1,131 @@
+package com.example.snakesandladders.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class GameServerTest {
+
+    private static InetSocketAddress loopback(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    @Test
+    public void loadGeneratorMatchesAllComplete() throws Exception {
+        try (GameServer server = GameServer.start(loopback(0), 3, 11)) {
+            LoadGenerator.Report pairs = LoadGenerator.run(loopback(server.port()), 300, 2, 2);
+            assertEquals(0, pairs.failed);
+            assertEquals(300, pairs.completed);
+            assertTrue(pairs.turns > 0);
+
+            LoadGenerator.Report fours = LoadGenerator.run(loopback(server.port()), 50, 4, 2);
+            assertEquals(0, fours.failed);
+            assertEquals(50, fours.completed);
+        }
+    }
+
+    @Test
+    public void rollOutOfTurnIsRejected() throws Exception {
+        try (GameServer server = GameServer.start(loopback(0), 2, 5);
+             Socket first = new Socket(InetAddress.getLoopbackAddress(), server.port());
+             Socket second = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            send(first, buffer -> Protocol.putCreate(buffer, 2));
+            ByteBuffer joined = receive(first);
+            assertEquals(Protocol.JOINED, joined.get());
+            int match = joined.getInt();
+
+            send(second, buffer -> Protocol.putRoll(buffer));
+            ByteBuffer early = receive(second);
+            assertEquals(Protocol.ERROR, early.get());
+            assertEquals(Protocol.ERROR_NOT_STARTED, early.get());
+
+            send(second, buffer -> Protocol.putJoin(buffer, match));
+            ByteBuffer seat = receive(second);
+            assertEquals(Protocol.JOINED, seat.get());
+            assertEquals(match, seat.getInt());
+            assertEquals(1, seat.get());
+            assertEquals(Protocol.START, receive(first).get());
+            assertEquals(Protocol.START, receive(second).get());
+
+            send(second, buffer -> Protocol.putRoll(buffer));
+            ByteBuffer error = receive(second);
+            assertEquals(Protocol.ERROR, error.get());
+            assertEquals(Protocol.ERROR_NOT_YOUR_TURN, error.get());
+
+            send(first, buffer -> Protocol.putRoll(buffer));
+            ByteBuffer turn = receive(second);
+            assertEquals(Protocol.TURN, turn.get());
+            assertEquals(0, turn.get());
+        }
+    }
+
+    @Test
+    public void joinForAnEndedMatchIsRejected() throws Exception {
+        try (GameServer server = GameServer.start(loopback(0), 1, 9);
+             Socket solo = new Socket(InetAddress.getLoopbackAddress(), server.port());
+             Socket host = new Socket(InetAddress.getLoopbackAddress(), server.port());
+             Socket late = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            send(solo, buffer -> Protocol.putCreate(buffer, 1));
+            ByteBuffer joined = receive(solo);
+            assertEquals(Protocol.JOINED, joined.get());
+            int ended = joined.getInt();
+            assertEquals(Protocol.START, receive(solo).get());
+            for (int next = 0; next != Protocol.NO_NEXT; ) {
+                send(solo, buffer -> Protocol.putRoll(buffer));
+                ByteBuffer turn = receive(solo);
+                assertEquals(Protocol.TURN, turn.get());
+                next = turn.get(turn.limit() - 1) & 0xFF;
+            }
+
+            // The next match on the same loop must not answer to the old id.
+            send(host, buffer -> Protocol.putCreate(buffer, 2));
+            ByteBuffer hosted = receive(host);
+            assertEquals(Protocol.JOINED, hosted.get());
+            assertTrue(hosted.getInt() != ended);
+
+            send(late, buffer -> Protocol.putJoin(buffer, ended));
+            ByteBuffer error = receive(late);
+            assertEquals(Protocol.ERROR, error.get());
+            assertEquals(Protocol.ERROR_NO_SUCH_MATCH, error.get());
+        }
+    }
+
+    private interface Writer {
+        void write(ByteBuffer buffer);
+    }
+
+    private static void send(Socket socket, Writer writer) throws IOException {
+        ByteBuffer buffer = Protocol.newBuffer(16);
+        writer.write(buffer);
+        OutputStream out = socket.getOutputStream();
+        out.write(buffer.array(), 0, buffer.position());
+        out.flush();
+    }
+
+    // Reads one frame and returns its payload, positioned at the type byte.
+    private static ByteBuffer receive(Socket socket) throws IOException {
+        InputStream in = socket.getInputStream();
+        byte[] header = readFully(in, Protocol.HEADER_BYTES);
+        int length = Protocol.newBuffer(2).put(header).getShort(0) & 0xFFFF;
+        return Protocol.newBuffer(length).put(readFully(in, length)).flip();
+    }
+
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        for (int read = 0; read < length; ) {
+            int n = in.read(bytes, read, length - read);
+            if (n < 0) throw new IOException("connection closed");
+            read += n;
+        }
+        return bytes;
+    }
+}
@@ -21,3 +21,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "SnakesAndLadders"
 include(":app")
+include(":engine")
+include(":benchmarks")
+include(":server")